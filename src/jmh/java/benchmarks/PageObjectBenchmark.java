@@ -0,0 +1,180 @@
+package benchmarks;
+
+import driver.DriverFactory;
+import driver.LaunchProfile;
+import local.LocalScooterApp;
+import models.PeriodType;
+import models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pages.ElementSnapshot;
+import pages.MainPage;
+import pages.OrderPage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки основных операций page objects против локальной копии приложения.
+ * Каждое состояние запускает один браузер с профилем fast-headless на всю серию замеров.
+ * Стратегия ожиданий выбирается свойством wait.engine, например
+ * -Djmh.args="-jvmArgsAppend -Dwait.engine=polling".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    private static final String FIRST_QUESTION = "Сколько это стоит? И как оплатить?";
+    private static final String SECOND_QUESTION = "Можно ли отменить заказ?";
+
+    private static final User USER = new User.Builder()
+            .setName("Иван")
+            .setSurname("Петров")
+            .setAddress("г. Москва, ул. Примерная, д. 1")
+            .setMetroStation("Щукинская")
+            .setPhone("+79001234567")
+            .build();
+
+    /**
+     * Браузер, открытый на главной странице с принятыми куками
+     */
+    @State(Scope.Benchmark)
+    public static class MainPageState {
+        WebDriver driver;
+        MainPage mainPage;
+        private int opened;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            driver = DriverFactory.create(LaunchProfile.FAST_HEADLESS);
+            driver.get(LocalScooterApp.getInstance().getBaseUrl());
+            mainPage = new MainPage(driver);
+            mainPage.acceptCookie();
+            mainPage.waitForCookieBannerDisappearance();
+        }
+
+        /**
+         * Чередует два вопроса, чтобы каждый раз открывался закрытый
+         *
+         * @return текст следующего вопроса
+         */
+        String nextQuestion() {
+            return opened++ % 2 == 0 ? FIRST_QUESTION : SECOND_QUESTION;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Браузер, открытый на пустом первом шаге формы заказа
+     */
+    @State(Scope.Benchmark)
+    public static class OrderFormState {
+        WebDriver driver;
+        OrderPage orderPage;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            driver = DriverFactory.create(LaunchProfile.FAST_HEADLESS);
+            driver.get(LocalScooterApp.getInstance().getBaseUrl());
+            new MainPage(driver).acceptCookie();
+        }
+
+        @Setup(Level.Invocation)
+        public void openEmptyForm() {
+            driver.get(LocalScooterApp.getInstance().getBaseUrl() + "order");
+            orderPage = new OrderPage(driver).waitUntilReady();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Браузер, открытый на втором шаге формы заказа
+     */
+    @State(Scope.Benchmark)
+    public static class RentalStepState {
+        WebDriver driver;
+        OrderPage orderPage;
+        private int selected;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            driver = DriverFactory.create(LaunchProfile.FAST_HEADLESS);
+            driver.get(LocalScooterApp.getInstance().getBaseUrl());
+            new MainPage(driver).acceptCookie();
+            driver.get(LocalScooterApp.getInstance().getBaseUrl() + "order");
+            orderPage = new OrderPage(driver).waitUntilReady();
+            orderPage.fillOrderForm(USER);
+            orderPage.clickNextButton();
+            if (!orderPage.isSecondStepFormPresent()) {
+                driver.quit();
+                throw new IllegalStateException("Второй шаг формы заказа не открылся, замерять выбор срока аренды нельзя");
+            }
+        }
+
+        /**
+         * Чередует два срока аренды, чтобы каждый раз выбиралось новое значение
+         *
+         * @return описание следующего срока аренды
+         */
+        String nextPeriod() {
+            PeriodType[] periods = PeriodType.values();
+            return periods[selected++ % 2].getDescription();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public ElementSnapshot getQuestion(MainPageState state) {
+        return state.mainPage.getQuestion(SECOND_QUESTION);
+    }
+
+    @Benchmark
+    public void openQuestion(MainPageState state) {
+        state.mainPage.openQuestion(state.mainPage.getQuestion(state.nextQuestion()));
+    }
+
+    /**
+     * Полная цепочка ожиданий перед кликом по локатору.
+     * Кнопка «Статус заказа» только показывает и скрывает поле поиска, поэтому клик можно повторять.
+     */
+    @Benchmark
+    public void clickOnElement(MainPageState state) {
+        state.mainPage.clickOnElement(By.xpath("//button[text()='Статус заказа']"), false);
+    }
+
+    @Benchmark
+    public void fillOrderForm(OrderFormState state) {
+        state.orderPage.fillOrderForm(USER);
+    }
+
+    @Benchmark
+    public void selectRentalPeriod(RentalStepState state) {
+        state.orderPage.selectRentalPeriod(state.nextPeriod());
+    }
+}
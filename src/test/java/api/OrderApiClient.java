@@ -0,0 +1,178 @@
+package api;
+
+import config.AppConfig;
+import models.Order;
+import models.User;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Клиент API заказов приложения для подготовки данных без интерфейса.
+ * Создаёт заказ одним запросом вместо заполнения двух шагов формы и ищет заказ по трек-номеру.
+ * Клиент из настроек запуска работает только с локальной копией приложения:
+ * заказы на общем тестовом стенде некому удалять.
+ */
+public final class OrderApiClient {
+    private static final Logger log = LoggerFactory.getLogger(OrderApiClient.class);
+
+    private static final DateTimeFormatter DELIVERY_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(AppConfig.DEFAULT_TIMEOUT))
+            .build();
+
+    /**
+     * Номера станций метро по адресу приложения и названию станции, общие для всех клиентов
+     */
+    private static final Map<String, String> stationNumbers = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final Json json = new Json();
+
+    /**
+     * Конструктор клиента
+     *
+     * @param baseUrl адрес приложения со слэшем в конце
+     */
+    public OrderApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Возвращает клиент для приложения из настроек запуска
+     *
+     * @return клиент API заказов
+     * @throws IllegalStateException если тесты запущены против общего стенда
+     */
+    public static OrderApiClient forApp() {
+        if (!AppConfig.LOCAL_MODE) {
+            throw new IllegalStateException("Заказы через API создаются только в локальной копии приложения, "
+                    + "запустите тесты с -Dapp.mode=local");
+        }
+        return new OrderApiClient(AppConfig.URL);
+    }
+
+    /**
+     * Создаёт заказ с данными пользователя и заказа
+     *
+     * @param order заказ
+     * @return трек-номер созданного заказа
+     * @throws RuntimeException если приложение не создало заказ
+     */
+    public int createOrder(Order order) {
+        User user = order.getUser();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("firstName", user.getName());
+        body.put("lastName", user.getSurname());
+        body.put("address", user.getAddress());
+        body.put("metroStation", user.getMetroStation() == null ? null : stationNumber(user.getMetroStation()));
+        body.put("phone", user.getPhone());
+        body.put("rentTime", order.getPeriod().ordinal() + 1);
+        body.put("deliveryDate", order.getOrderDate().format(DELIVERY_DATE));
+        body.put("comment", order.getComment() == null ? "" : order.getComment());
+        body.put("color", order.getScooterColor() == null
+                ? Collections.emptyList()
+                : Collections.singletonList(order.getScooterColor().name()));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "api/v1/orders"))
+                .timeout(Duration.ofSeconds(AppConfig.DEFAULT_TIMEOUT))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(body), StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() != 201) {
+            throw new RuntimeException("Заказ не создан: статус " + response.statusCode() + ", ответ " + response.body());
+        }
+        int track = ((Number) parse(response.body()).get("track")).intValue();
+        log.debug("Заказ создан через API, трек-номер {}", track);
+        return track;
+    }
+
+    /**
+     * Ищет заказ по трек-номеру
+     *
+     * @param track трек-номер
+     * @return поля заказа или null, если заказ не найден
+     * @throws RuntimeException если приложение ответило ошибкой
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> findOrder(int track) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "api/v1/orders/track?t=" + track))
+                .timeout(Duration.ofSeconds(AppConfig.DEFAULT_TIMEOUT))
+                .GET()
+                .build();
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new RuntimeException("Заказ не найден: статус " + response.statusCode() + ", ответ " + response.body());
+        }
+        return (Map<String, Object>) parse(response.body()).get("order");
+    }
+
+    /**
+     * Находит номер станции метро по названию через поиск станций приложения
+     */
+    @SuppressWarnings("unchecked")
+    private String stationNumber(String name) {
+        return stationNumbers.computeIfAbsent(baseUrl + name, key -> {
+            String query = URLEncoder.encode(name, StandardCharsets.UTF_8);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "api/v1/stations/search?s=" + query))
+                    .timeout(Duration.ofSeconds(AppConfig.DEFAULT_TIMEOUT))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = send(request);
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("Поиск станции метро не выполнен: статус " + response.statusCode());
+            }
+            List<Map<String, Object>> stations;
+            try {
+                stations = json.toType(response.body(), List.class);
+            } catch (JsonException e) {
+                throw new RuntimeException("Некорректный ответ поиска станций: " + response.body(), e);
+            }
+            return stations.stream()
+                    .filter(station -> name.equals(station.get("name")))
+                    .map(station -> String.valueOf(station.get("number")))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Станция метро не найдена: " + name));
+        });
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка запроса к API приложения: " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Запрос к API приложения прерван: " + request.uri(), e);
+        }
+    }
+
+    private Map<String, Object> parse(String body) {
+        try {
+            return json.toType(body, Json.MAP_TYPE);
+        } catch (JsonException e) {
+            throw new RuntimeException("Некорректный ответ API приложения: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package artifacts;
+
+import config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Фоновая запись снимков упавших тестов в zip-архивы каталога artifacts.dir.
+ * Очередь ограничена: если диск не успевает, лишние снимки отбрасываются с предупреждением,
+ * а тест не ждёт записи. Перед завершением JVM записываются все снимки из очереди.
+ */
+public final class ArtifactWriter {
+    private static final Logger log = LoggerFactory.getLogger(ArtifactWriter.class);
+
+    private static final int QUEUE_CAPACITY = 16;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+    private static final String CYRILLIC = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+    private static final String[] LATIN = {"a", "b", "v", "g", "d", "e", "e", "zh", "z", "i", "y", "k", "l", "m", "n",
+            "o", "p", "r", "s", "t", "u", "f", "kh", "ts", "ch", "sh", "shch", "", "y", "", "e", "yu", "ya"};
+
+    private static final ArtifactWriter instance = new ArtifactWriter();
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    private ArtifactWriter() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "failure-artifacts");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "failure-artifacts-shutdown"));
+    }
+
+    /**
+     * Возвращает единственный экземпляр
+     *
+     * @return фоновая запись артефактов
+     */
+    public static ArtifactWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Ставит снимок в очередь записи, не дожидаясь её
+     *
+     * @param snapshot снимок упавшего теста
+     */
+    public void submit(FailureSnapshot snapshot) {
+        try {
+            executor.execute(() -> write(snapshot));
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+            log.warn("Очередь записи артефактов заполнена, снимок теста {} отброшен", snapshot.getTestName());
+        }
+    }
+
+    private void write(FailureSnapshot snapshot) {
+        String name = safeName(snapshot.getTestName()) + "-" + TIMESTAMP.format(snapshot.getCapturedAt()) + ".zip";
+        Path file = Paths.get(AppConfig.ARTIFACTS_DIR, safeName(snapshot.getTestClass()), name);
+        try {
+            Files.createDirectories(file.getParent());
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+                put(zip, "summary.txt", summary(snapshot).getBytes(StandardCharsets.UTF_8));
+                if (snapshot.getScreenshot() != null) {
+                    put(zip, "screenshot.png", snapshot.getScreenshot());
+                }
+                if (snapshot.getPageSource() != null) {
+                    put(zip, "page.html", snapshot.getPageSource().getBytes(StandardCharsets.UTF_8));
+                }
+                put(zip, "console.log", String.join(System.lineSeparator(), snapshot.getConsole())
+                        .getBytes(StandardCharsets.UTF_8));
+                put(zip, "journal.log", String.join(System.lineSeparator(), snapshot.getJournal())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            written.incrementAndGet();
+            log.info("Артефакты упавшего теста записаны: {}", file.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            log.error("Не удалось записать артефакты упавшего теста: {}", file, e);
+        }
+    }
+
+    private static String summary(FailureSnapshot snapshot) {
+        StringBuilder summary = new StringBuilder()
+                .append("Тест: ").append(snapshot.getTestClass()).append(" / ").append(snapshot.getTestName()).append('\n')
+                .append("Время: ").append(snapshot.getCapturedAt()).append('\n')
+                .append("Адрес: ").append(snapshot.getUrl() == null ? "-" : snapshot.getUrl()).append('\n');
+        for (String problem : snapshot.getProblems()) {
+            summary.append("Не снято: ").append(problem).append('\n');
+        }
+        return summary.append('\n').append(snapshot.getError()).toString();
+    }
+
+    private static void put(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * Имя файла из латиницы и цифр: кириллица транслитерируется, остальные символы заменяются на «_».
+     * Кодировка имён файлов в CI часто не UTF-8, и кириллическое имя файла не создаётся
+     */
+    private static String safeName(String name) {
+        StringBuilder safe = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            char lower = Character.toLowerCase(c);
+            int index = CYRILLIC.indexOf(lower);
+            if (index >= 0) {
+                safe.append(LATIN[index]);
+            } else if (c < 128 && (Character.isLetterOrDigit(c) || c == '.' || c == '-')) {
+                safe.append(c);
+            } else {
+                safe.append('_');
+            }
+        }
+        return safe.toString().replaceAll("_+", "_");
+    }
+
+    private void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Запись артефактов не завершилась за {} с", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (written.get() > 0 || dropped.get() > 0) {
+            log.info("Артефакты упавших тестов: записано {}, отброшено {}", written.get(), dropped.get());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package artifacts;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Состояние браузера в момент падения теста: снимок экрана, DOM, консоль браузера и адрес страницы,
+ * а также журнал событий теста.
+ * Снимается в потоке теста, пока браузер ещё открыт, и только копирует данные из браузера в память,
+ * сжатие и запись на диск выполняет {@link ArtifactWriter}.
+ */
+public final class FailureSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(FailureSnapshot.class);
+
+    private final String testClass;
+    private final String testName;
+    private final Instant capturedAt = Instant.now();
+    private final String error;
+    private final List<String> problems = new ArrayList<>();
+    private String url;
+    private byte[] screenshot;
+    private String pageSource;
+    private List<String> console = Collections.emptyList();
+    private List<String> journal = Collections.emptyList();
+
+    private FailureSnapshot(String testClass, String testName, Throwable failure) {
+        this.testClass = testClass;
+        this.testName = testName;
+        StringWriter trace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(trace));
+        this.error = trace.toString();
+    }
+
+    /**
+     * Снимает состояние браузера. Часть, которую браузер не отдал, пропускается с пометкой в отчёте
+     *
+     * @param driver    драйвер браузера упавшего теста
+     * @param testClass класс теста
+     * @param testName  название теста
+     * @param failure   ошибка теста
+     * @param journal   строки журнала теста
+     * @return снимок состояния
+     */
+    public static FailureSnapshot capture(WebDriver driver, String testClass, String testName, Throwable failure,
+                                          List<String> journal) {
+        long start = System.nanoTime();
+        FailureSnapshot snapshot = new FailureSnapshot(testClass, testName, failure);
+        snapshot.journal = journal;
+        try {
+            snapshot.url = driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            snapshot.skip("адрес страницы", e);
+        }
+        if (driver instanceof TakesScreenshot) {
+            try {
+                snapshot.screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            } catch (WebDriverException e) {
+                snapshot.skip("снимок экрана", e);
+            }
+        } else {
+            snapshot.problems.add("снимок экрана: драйвер не умеет делать снимки");
+        }
+        try {
+            snapshot.pageSource = driver.getPageSource();
+        } catch (WebDriverException e) {
+            snapshot.skip("DOM страницы", e);
+        }
+        try {
+            List<String> lines = new ArrayList<>();
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                lines.add(Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " " + entry.getMessage());
+            }
+            snapshot.console = lines;
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            snapshot.skip("консоль браузера", e);
+        }
+        log.debug("Состояние браузера снято за {} мс", (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    private void skip(String part, RuntimeException e) {
+        problems.add(part + ": " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        log.debug("Не удалось снять {}", part, e);
+    }
+
+    String getTestClass() {
+        return testClass;
+    }
+
+    String getTestName() {
+        return testName;
+    }
+
+    Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    List<String> getProblems() {
+        return problems;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    byte[] getScreenshot() {
+        return screenshot;
+    }
+
+    String getPageSource() {
+        return pageSource;
+    }
+
+    List<String> getConsole() {
+        return console;
+    }
+
+    List<String> getJournal() {
+        return journal;
+    }
+}
@@ -1,6 +1,185 @@
 package config;
 
+import local.LocalScooterApp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class AppConfig {
-    public static final String URL = "https://qa-scooter.praktikum-services.ru/";
+    public static final String REMOTE_URL = "https://qa-scooter.praktikum-services.ru/";
+
+    /**
+     * Режим запуска: remote - общий стенд, local - копия приложения внутри процесса тестов
+     */
+    public static final boolean LOCAL_MODE = "local".equalsIgnoreCase(System.getProperty("app.mode", "remote"));
+
+    public static final String URL = LOCAL_MODE ? LocalScooterApp.getInstance().getBaseUrl() : REMOTE_URL;
     public static final int DEFAULT_TIMEOUT = 15;
+
+    /**
+     * Таймаут асинхронных скриптов, который DriverFactory выставляет браузеру один раз при запуске, в секундах
+     */
+    public static final int SCRIPT_TIMEOUT = 30;
+
+    /**
+     * Лёгкая страница на домене приложения. На ней свободный браузер ждёт следующего теста,
+     * и на ней можно выставить куки и localStorage до загрузки самого приложения
+     */
+    public static final String PARKING_URL = URL + "favicon.ico";
+
+    /**
+     * Количество строк параметризованных тестов, выполняемых одновременно
+     */
+    public static final int TEST_THREADS = Integer.getInteger("test.threads", 1);
+
+    /**
+     * Максимальное количество одновременно открытых браузеров в пуле
+     */
+    public static final int DRIVER_POOL_SIZE = Integer.getInteger("driver.pool.size", TEST_THREADS);
+
+    /**
+     * Время ожидания свободного браузера из пула, в секундах
+     */
+    public static final int DRIVER_LEASE_TIMEOUT = Integer.getInteger("driver.pool.leaseTimeout", 120);
+
+    /**
+     * Сколько браузеров пул может запускать в фоне одновременно
+     */
+    public static final int DRIVER_MAX_LAUNCHES = Integer.getInteger("driver.pool.maxLaunches", 2);
+
+    /**
+     * Имя профиля запуска браузера, см. driver.LaunchProfile
+     */
+    public static final String BROWSER_PROFILE = System.getProperty("browser.profile", "default");
+
+    /**
+     * Размер окна для безголового браузера в формате ширина,высота
+     */
+    public static final String BROWSER_WINDOW_SIZE = System.getProperty("browser.window", "1920,1080");
+
+    /**
+     * Способ заполнения форм: fast - одним скриптом с проверкой, keys - ввод с клавиатуры
+     */
+    public static final boolean FAST_FORM_FILL = !"keys".equalsIgnoreCase(System.getProperty("form.fill", "fast"));
+
+    /**
+     * Движок ожиданий: observer - ожидание внутри страницы, polling - опрос через WebDriverWait
+     */
+    public static final boolean OBSERVER_WAITS = !"polling".equalsIgnoreCase(System.getProperty("wait.engine", "observer"));
+
+    /**
+     * Каталог для отчётов о длительности действий
+     */
+    public static final String METRICS_DIR = System.getProperty("metrics.dir", "target/metrics");
+
+    /**
+     * Номер шарда, строки которого выполняет этот запуск, от 0 до shard.count - 1
+     */
+    public static final int SHARD_INDEX = Integer.getInteger("shard.index", 0);
+
+    /**
+     * Число шардов, между которыми делятся строки параметризованных тестов
+     */
+    public static final int SHARD_COUNT = Integer.getInteger("shard.count", 1);
+
+    /**
+     * Файл с длительностями строк тестов из прошлых прогонов
+     */
+    public static final String TIMINGS_FILE = System.getProperty("timings.file", "test-timings.json");
+
+    /**
+     * Файл длительностей, по которому строки делятся между шардами, обычно результат ShardMerger
+     * прошлого прогона, переданный всем шардам как артефакт. Все шарды должны получить один и тот же файл.
+     * Без него строки делятся по числу: локальный timings.file на разных машинах разный
+     */
+    public static final String SHARD_TIMINGS_FILE = System.getProperty("shard.timings", "");
+
+    /**
+     * Порядок строк параметризованных тестов: duration - сначала самые долгие по прошлым прогонам,
+     * declared - в порядке объявления
+     */
+    public static final boolean LONGEST_FIRST = !"declared".equalsIgnoreCase(System.getProperty("row.order", "duration"));
+
+    /**
+     * Каталог для архивов с состоянием браузера упавших тестов
+     */
+    public static final String ARTIFACTS_DIR = System.getProperty("artifacts.dir", "target/failure-artifacts");
+
+    /**
+     * Число последних событий, которые журнал теста хранит для вывода при падении
+     */
+    public static final int JOURNAL_SIZE = Integer.getInteger("journal.size", 200);
+
+    /**
+     * Проверять ли бюджет команд браузеру из аннотации runner.CommandBudget
+     */
+    public static final boolean COMMAND_BUDGETS = !"off".equalsIgnoreCase(System.getProperty("command.budget", "on"));
+
+    /**
+     * Подставлять ли согласие с куками до загрузки страницы вместо клика по баннеру
+     */
+    public static final boolean CONSENT_INJECTION = !"off".equalsIgnoreCase(System.getProperty("consent.inject", "on"));
+
+    /**
+     * Блокировать ли запросы браузера через Chrome DevTools Protocol, включается -Dnetwork.filter=on.
+     * Выключено по умолчанию: перехват Fetch держит каждый подходящий запрос до ответа фильтра,
+     * и обрыв сессии DevTools остановил бы загрузку страниц во всех тестах
+     */
+    public static final boolean NETWORK_FILTER = "on".equalsIgnoreCase(System.getProperty("network.filter", "off"));
+
+    /**
+     * Выполнять ли строки классов с общей сессией против одной загруженной страницы.
+     * С -Dshared.session=off каждая строка открывает страницу в своём браузере
+     */
+    public static final boolean SHARED_SESSIONS = !"off".equalsIgnoreCase(System.getProperty("shared.session", "on"));
+
+    /**
+     * Число заказов из генератора или файла для OrderFlowTest. 0 - только заказы, заданные в коде.
+     * В тесты попадает не больше data.TestOrders.MAX_TEST_ROWS строк
+     */
+    public static final int ORDERS_COUNT = Integer.getInteger("orders.count", 0);
+
+    /**
+     * Начальное значение генератора заказов, один seed даёт одни и те же заказы
+     */
+    public static final long ORDERS_SEED = Long.getLong("orders.seed", 20240601L);
+
+    /**
+     * Файл заказов CSV или JSONL. Если задан, заказы читаются из него вместо генератора
+     */
+    public static final String ORDERS_FILE = System.getProperty("orders.file", "");
+
+    /**
+     * Число одновременных браузеров нагрузочного прогона load.OrderLoadRunner
+     */
+    public static final int LOAD_SESSIONS = Integer.getInteger("load.sessions", 4);
+
+    /**
+     * Длительность нагрузочного прогона в секундах, если не задано число заказов
+     */
+    public static final int LOAD_DURATION = Integer.getInteger("load.duration", 60);
+
+    /**
+     * Общее число заказов нагрузочного прогона. 0 - прогон ограничен длительностью
+     */
+    public static final int LOAD_ITERATIONS = Integer.getInteger("load.iterations", 0);
+
+    /**
+     * Типы ресурсов CDP, запросы которых блокируются, через запятую
+     */
+    public static final List<String> BLOCKED_RESOURCE_TYPES = list(System.getProperty("network.block.types", "Image,Font,Media"));
+
+    /**
+     * Шаблоны адресов, запросы к которым блокируются, через запятую. Звёздочка означает любые символы
+     */
+    public static final List<String> BLOCKED_URL_PATTERNS = list(System.getProperty("network.block.urls",
+            "*mc.yandex.ru*,*google-analytics.com*,*googletagmanager.com*"));
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
 }
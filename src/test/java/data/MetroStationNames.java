@@ -0,0 +1,34 @@
+package data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Станции метро, которые предлагает форма заказа.
+ * Номер станции совпадает с её позицией в списке, начиная с единицы.
+ * Из этого списка генератор берёт станции заказов, а локальная копия приложения отвечает на поиск станций.
+ */
+public final class MetroStationNames {
+    /**
+     * Названия станций в порядке их номеров
+     */
+    public static final List<String> ALL = Collections.unmodifiableList(Arrays.asList(
+            "Бульвар Рокоссовского", "Черкизовская", "Преображенская площадь", "Сокольники",
+            "Красносельская", "Комсомольская", "Красные Ворота", "Чистые пруды", "Лубянка",
+            "Охотный Ряд", "Библиотека имени Ленина", "Кропоткинская", "Парк культуры",
+            "Фрунзенская", "Спортивная", "Воробьёвы горы", "Университет", "Проспект Вернадского",
+            "Юго-Западная", "Тропарёво", "Речной вокзал", "Водный стадион", "Войковская",
+            "Сокол", "Аэропорт", "Динамо", "Белорусская", "Маяковская", "Тверская",
+            "Театральная", "Новокузнецкая", "Павелецкая", "Автозаводская", "Коломенская",
+            "Каширская", "Кантемировская", "Царицыно", "Орехово", "Домодедовская",
+            "Красногвардейская", "Планерная", "Сходненская", "Тушинская", "Спартак",
+            "Щукинская", "Октябрьское поле", "Полежаевская", "Беговая", "Улица 1905 года",
+            "Баррикадная", "Пушкинская", "Кузнецкий мост", "Китай-город", "Таганская",
+            "Пролетарская", "Волгоградский проспект", "Текстильщики", "Кузьминки",
+            "Рязанский проспект", "Выхино", "Лермонтовский проспект", "Жулебино", "Котельники"
+    ));
+
+    private MetroStationNames() {
+    }
+}
@@ -0,0 +1,210 @@
+package data;
+
+import models.Order;
+import models.PeriodType;
+import models.ScooterColorType;
+import models.User;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Построчное чтение заказов из файлов CSV и JSONL.
+ * Файл читается по мере обращения к потоку, в памяти держится только текущая строка,
+ * поэтому поток нужно закрыть после использования.
+ * <p>
+ * Поля строки: name, surname, address, metroStation, phone, date, period, color, comment.
+ * В CSV первая строка - заголовок с этими именами в любом порядке, значения с запятыми берутся в кавычки.
+ * Дата задаётся как 2025-06-01, 2025-06-01T15:30 или +3 - число дней от текущего.
+ * Срок аренды и цвет - имена {@link PeriodType} и {@link ScooterColorType}.
+ */
+public final class OrderFiles {
+    private static final Json JSON = new Json();
+
+    private OrderFiles() {
+    }
+
+    /**
+     * Открывает поток заказов из файла, формат определяется по расширению .csv или .jsonl
+     *
+     * @param file путь к файлу
+     * @return ленивый поток заказов
+     * @throws IllegalArgumentException если расширение файла не поддерживается
+     */
+    public static Stream<Order> read(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return readCsv(file);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return readJsonLines(file);
+        }
+        throw new IllegalArgumentException("Неподдерживаемый формат файла заказов: " + file);
+    }
+
+    /**
+     * Открывает поток заказов из CSV-файла с заголовком
+     *
+     * @param file путь к файлу
+     * @return ленивый поток заказов
+     */
+    public static Stream<Order> readCsv(Path file) {
+        BufferedReader reader = open(file);
+        List<String> header;
+        try {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                close(reader);
+                return Stream.empty();
+            }
+            header = parseCsvLine(stripBom(headerLine));
+        } catch (IOException e) {
+            close(reader);
+            throw new RuntimeException("Не удалось прочитать файл заказов: " + file, e);
+        }
+        AtomicLong lineNumber = new AtomicLong(1);
+        return reader.lines()
+                .peek(line -> lineNumber.incrementAndGet())
+                .filter(line -> !line.trim().isEmpty())
+                .map(line -> {
+                    List<String> values = parseCsvLine(line);
+                    Map<String, Object> fields = new HashMap<>();
+                    for (int i = 0; i < header.size() && i < values.size(); i++) {
+                        fields.put(header.get(i).trim(), values.get(i));
+                    }
+                    return toOrder(fields, file, lineNumber.get());
+                })
+                .onClose(() -> close(reader));
+    }
+
+    /**
+     * Открывает поток заказов из файла, где каждая строка - отдельный JSON-объект
+     *
+     * @param file путь к файлу
+     * @return ленивый поток заказов
+     */
+    public static Stream<Order> readJsonLines(Path file) {
+        BufferedReader reader = open(file);
+        AtomicLong lineNumber = new AtomicLong();
+        return reader.lines()
+                .peek(line -> lineNumber.incrementAndGet())
+                .map(OrderFiles::stripBom)
+                .filter(line -> !line.trim().isEmpty())
+                .map(line -> {
+                    try {
+                        Map<String, Object> fields = JSON.toType(line, Json.MAP_TYPE);
+                        return toOrder(fields, file, lineNumber.get());
+                    } catch (JsonException e) {
+                        throw new IllegalArgumentException("Некорректный JSON в " + file + ":" + lineNumber.get(), e);
+                    }
+                })
+                .onClose(() -> close(reader));
+    }
+
+    private static Order toOrder(Map<String, Object> fields, Path file, long lineNumber) {
+        try {
+            User user = new User.Builder()
+                    .setName(text(fields, "name"))
+                    .setSurname(text(fields, "surname"))
+                    .setAddress(text(fields, "address"))
+                    .setMetroStation(text(fields, "metroStation"))
+                    .setPhone(text(fields, "phone"))
+                    .build();
+            String comment = fields.get("comment") == null ? "" : fields.get("comment").toString();
+            return new Order(user,
+                    parseDate(text(fields, "date")),
+                    PeriodType.valueOf(text(fields, "period").toUpperCase(Locale.ROOT)),
+                    ScooterColorType.valueOf(text(fields, "color").toUpperCase(Locale.ROOT)),
+                    comment);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный заказ в " + file + ":" + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String text(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null || value.toString().trim().isEmpty()) {
+            throw new IllegalArgumentException("не заполнено поле " + name);
+        }
+        return value.toString().trim();
+    }
+
+    /**
+     * Разбирает дату заказа: абсолютную или относительную вида +N дней от текущего
+     */
+    private static LocalDateTime parseDate(String value) {
+        if (value.startsWith("+")) {
+            return LocalDate.now().plusDays(Long.parseLong(value.substring(1))).atTime(12, 0);
+        }
+        if (value.contains("T")) {
+            return LocalDateTime.parse(value);
+        }
+        return LocalDate.parse(value).atTime(12, 0);
+    }
+
+    /**
+     * Разбирает строку CSV с учётом кавычек и удвоенных кавычек внутри значения
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private static BufferedReader open(Path file) {
+        try {
+            return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось открыть файл заказов: " + file, e);
+        }
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось закрыть файл заказов", e);
+        }
+    }
+}
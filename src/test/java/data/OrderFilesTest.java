@@ -0,0 +1,136 @@
+package data;
+
+import models.Order;
+import models.PeriodType;
+import models.ScooterColorType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderFilesTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCsvColumnsAreMatchedByHeader() throws IOException {
+        Path file = write("orders.csv",
+                "\uFEFFsurname,name,phone,address,metroStation,date,period,color,comment",
+                "Петров,Иван,+79001234567,\"г. Москва, ул. Мира, д. 1\",Сокольники,2030-06-01,ONE_DAY,black,");
+
+        List<Order> orders = readAll(file);
+
+        assertThat(orders).hasSize(1);
+        Order order = orders.get(0);
+        assertThat(order.getUser().getName()).isEqualTo("Иван");
+        assertThat(order.getUser().getSurname()).isEqualTo("Петров");
+        assertThat(order.getUser().getAddress()).isEqualTo("г. Москва, ул. Мира, д. 1");
+        assertThat(order.getOrderDate()).isEqualTo(LocalDateTime.of(2030, 6, 1, 12, 0));
+        assertThat(order.getPeriod()).isEqualTo(PeriodType.ONE_DAY);
+        assertThat(order.getScooterColor()).isEqualTo(ScooterColorType.BLACK);
+        assertThat(order.getComment()).isEmpty();
+    }
+
+    @Test
+    public void testCsvQuotedValueKeepsCommasAndDoubledQuotes() throws IOException {
+        Path file = write("orders.csv",
+                "name,surname,address,metroStation,phone,date,period,color,comment",
+                "Анна,Смирнова,ул. Лесная,Выхино,+79001234567,2030-06-01T15:30,TWO_DAYS,GREY,"
+                        + "\"Код \"\"1234\"\", второй подъезд\"");
+
+        Order order = readAll(file).get(0);
+
+        assertThat(order.getComment()).isEqualTo("Код \"1234\", второй подъезд");
+        assertThat(order.getOrderDate()).isEqualTo(LocalDateTime.of(2030, 6, 1, 15, 30));
+    }
+
+    @Test
+    public void testCsvRelativeDateAndBlankLines() throws IOException {
+        Path file = write("orders.csv",
+                "name,surname,address,metroStation,phone,date,period,color,comment",
+                "",
+                "Анна,Смирнова,ул. Лесная,Выхино,+79001234567,+3,TWO_DAYS,GREY,",
+                "   ",
+                "Иван,Петров,ул. Мира,Сокольники,+79001234568,+1,ONE_DAY,BLACK,");
+
+        List<Order> orders = readAll(file);
+
+        assertThat(orders).hasSize(2);
+        assertThat(orders.get(0).getOrderDate().toLocalDate()).isEqualTo(LocalDate.now().plusDays(3));
+        assertThat(orders.get(1).getOrderDate().toLocalDate()).isEqualTo(LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    public void testCsvMissingFieldReportsLine() throws IOException {
+        Path file = write("orders.csv",
+                "name,surname,address,metroStation,phone,date,period,color,comment",
+                "Анна,Смирнова,ул. Лесная,Выхино,+79001234567,+3,TWO_DAYS,GREY,",
+                "Иван,,ул. Мира,Сокольники,+79001234568,+1,ONE_DAY,BLACK,");
+
+        assertThatThrownBy(() -> readAll(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("orders.csv:3")
+                .hasMessageContaining("surname");
+    }
+
+    @Test
+    public void testJsonLinesWithEscapedQuotes() throws IOException {
+        Path file = write("orders.jsonl",
+                "{\"name\": \"Иван\", \"surname\": \"Петров\", \"address\": \"ул. Мира, д. 1\", "
+                        + "\"metroStation\": \"Сокольники\", \"phone\": \"+79001234567\", \"date\": \"2030-06-01\", "
+                        + "\"period\": \"one_day\", \"color\": \"BLACK\", \"comment\": \"Код \\\"1234\\\"\"}",
+                "",
+                "{\"name\": \"Анна\", \"surname\": \"Смирнова\", \"address\": \"ул. Лесная\", "
+                        + "\"metroStation\": \"Выхино\", \"phone\": \"+79001234568\", \"date\": \"+2\", "
+                        + "\"period\": \"TWO_DAYS\", \"color\": \"GREY\"}");
+
+        List<Order> orders = readAll(file);
+
+        assertThat(orders).hasSize(2);
+        assertThat(orders.get(0).getComment()).isEqualTo("Код \"1234\"");
+        assertThat(orders.get(0).getPeriod()).isEqualTo(PeriodType.ONE_DAY);
+        assertThat(orders.get(1).getComment()).isEmpty();
+        assertThat(orders.get(1).getOrderDate().toLocalDate()).isEqualTo(LocalDate.now().plusDays(2));
+    }
+
+    @Test
+    public void testJsonLinesInvalidJsonReportsLine() throws IOException {
+        Path file = write("orders.jsonl", "", "{\"name\": ");
+
+        assertThatThrownBy(() -> readAll(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("orders.jsonl:2");
+    }
+
+    @Test
+    public void testUnsupportedExtensionIsRejected() throws IOException {
+        Path file = write("orders.txt", "name");
+
+        assertThatThrownBy(() -> OrderFiles.read(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Order> readAll(Path file) {
+        try (Stream<Order> orders = OrderFiles.read(file)) {
+            return orders.collect(Collectors.toList());
+        }
+    }
+}
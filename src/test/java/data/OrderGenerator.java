@@ -0,0 +1,135 @@
+package data;
+
+import models.Order;
+import models.PeriodType;
+import models.ScooterColorType;
+import models.User;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Бесконечный генератор корректных пользователей и заказов.
+ * Один и тот же seed даёт одну и ту же последовательность, даты заказов отсчитываются от текущего дня,
+ * поэтому всегда лежат в будущем. Каждый следующий заказ строится только при обращении к нему.
+ */
+public final class OrderGenerator implements Iterator<Order> {
+
+    private static final List<String> MALE_NAMES = Arrays.asList(
+            "Александр", "Алексей", "Андрей", "Артём", "Борис", "Василий", "Виктор", "Владимир",
+            "Дмитрий", "Евгений", "Иван", "Игорь", "Кирилл", "Максим", "Михаил", "Никита",
+            "Николай", "Олег", "Павел", "Роман", "Сергей", "Степан", "Фёдор", "Юрий");
+
+    private static final List<String> FEMALE_NAMES = Arrays.asList(
+            "Анастасия", "Анна", "Валентина", "Вера", "Дарья", "Екатерина", "Елена", "Ирина",
+            "Ксения", "Людмила", "Мария", "Надежда", "Наталья", "Ольга", "Полина", "Светлана",
+            "Софья", "Татьяна", "Ульяна", "Юлия");
+
+    /**
+     * Фамилии в мужской форме, женская форма получается добавлением «а»
+     */
+    private static final List<String> SURNAMES = Arrays.asList(
+            "Петров", "Иванов", "Смирнов", "Кузнецов", "Попов", "Соколов", "Лебедев", "Козлов",
+            "Новиков", "Морозов", "Волков", "Соловьёв", "Васильев", "Зайцев", "Павлов", "Семёнов",
+            "Голубев", "Виноградов", "Богданов", "Воробьёв", "Фёдоров", "Михайлов", "Беляев", "Тарасов");
+
+    private static final List<String> CITIES = Arrays.asList("г. Москва", "г. Химки", "г. Мытищи", "г. Люберцы");
+
+    private static final List<String> STREETS = Arrays.asList(
+            "ул. Ленина", "ул. Тверская", "ул. Садовая", "ул. Мира", "ул. Гагарина", "ул. Лесная",
+            "пр. Вернадского", "пр. Мира", "Ленинский пр.", "Кутузовский пр.", "пер. Сивцев Вражек",
+            "б-р Рокоссовского", "ш. Энтузиастов", "наб. Фрунзенская");
+
+    private static final List<String> COMMENTS = Arrays.asList(
+            "", "", "", "Позвонить за 15 минут", "Домофон не работает", "Оставить у консьержа",
+            "Привезти после обеда", "Подъезд со двора");
+
+    private static final int MAX_DAYS_AHEAD = 30;
+
+    private final Random random;
+    private final LocalDate today;
+
+    /**
+     * Конструктор генератора
+     *
+     * @param seed начальное значение генератора случайных чисел
+     */
+    public OrderGenerator(long seed) {
+        this(seed, LocalDate.now());
+    }
+
+    /**
+     * Конструктор генератора с заданным текущим днём
+     *
+     * @param seed  начальное значение генератора случайных чисел
+     * @param today день, от которого отсчитываются даты заказов
+     */
+    public OrderGenerator(long seed, LocalDate today) {
+        this.random = new Random(seed);
+        this.today = today;
+    }
+
+    /**
+     * Возвращает ленивый поток заказов, бесконечный до ограничения через limit
+     *
+     * @param seed начальное значение генератора случайных чисел
+     * @return поток заказов
+     */
+    public static Stream<Order> stream(long seed) {
+        Spliterator<Order> spliterator = Spliterators.spliteratorUnknownSize(new OrderGenerator(seed),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    /**
+     * Строит следующий заказ: дата от завтра на месяц вперёд, любой срок аренды и цвет
+     *
+     * @return заказ
+     */
+    @Override
+    public Order next() {
+        User user = nextUser();
+        LocalDate date = today.plusDays(1 + random.nextInt(MAX_DAYS_AHEAD));
+        PeriodType period = pick(PeriodType.values());
+        ScooterColorType color = pick(ScooterColorType.values());
+        return new Order(user, date.atTime(12, 0), period, color, pick(COMMENTS));
+    }
+
+    /**
+     * Строит следующего пользователя с кириллическими именем, фамилией и адресом,
+     * станцией метро из справочника приложения и мобильным телефоном
+     *
+     * @return пользователь
+     */
+    public User nextUser() {
+        boolean female = random.nextBoolean();
+        String surname = pick(SURNAMES);
+        return new User.Builder()
+                .setName(female ? pick(FEMALE_NAMES) : pick(MALE_NAMES))
+                .setSurname(female ? surname + "а" : surname)
+                .setAddress(pick(CITIES) + ", " + pick(STREETS) + ", д. " + (1 + random.nextInt(150)))
+                .setMetroStation(pick(MetroStationNames.ALL))
+                .setPhone(String.format("+79%09d", random.nextInt(1_000_000_000)))
+                .build();
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
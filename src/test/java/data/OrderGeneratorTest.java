@@ -0,0 +1,70 @@
+package data;
+
+import models.Order;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderGeneratorTest {
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 15);
+
+    @Test
+    public void testSameSeedGivesSameOrders() {
+        assertThat(describe(generate(42, 50))).isEqualTo(describe(generate(42, 50)));
+    }
+
+    @Test
+    public void testDifferentSeedsGiveDifferentOrders() {
+        assertThat(describe(generate(1, 20))).isNotEqualTo(describe(generate(2, 20)));
+    }
+
+    @Test
+    public void testOrderDatesAreWithinMonthAfterToday() {
+        for (Order order : generate(7, 500)) {
+            assertThat(order.getOrderDate().toLocalDate())
+                    .isAfter(TODAY)
+                    .isBeforeOrEqualTo(TODAY.plusDays(30));
+        }
+    }
+
+    @Test
+    public void testUsersAreValid() {
+        for (Order order : generate(7, 200)) {
+            assertThat(order.getUser().getMetroStation()).isIn(MetroStationNames.ALL);
+            assertThat(order.getUser().getPhone()).matches("\\+79\\d{9}");
+            assertThat(order.getUser().getName()).matches("[А-ЯЁ][а-яё]+");
+            assertThat(order.getUser().getSurname()).matches("[А-ЯЁ][а-яё]+");
+        }
+    }
+
+    @Test
+    public void testStreamStartsWithSameOrdersAsIterator() {
+        LocalDate today = LocalDate.now();
+        List<Order> streamed = OrderGenerator.stream(42).limit(10).collect(Collectors.toList());
+        OrderGenerator generator = new OrderGenerator(42, today);
+        for (Order order : streamed) {
+            assertThat(describe(order)).isEqualTo(describe(generator.next()));
+        }
+    }
+
+    private static List<Order> generate(long seed, int count) {
+        OrderGenerator generator = new OrderGenerator(seed, TODAY);
+        return Stream.generate(generator::next).limit(count).collect(Collectors.toList());
+    }
+
+    private static List<String> describe(List<Order> orders) {
+        return orders.stream().map(OrderGeneratorTest::describe).collect(Collectors.toList());
+    }
+
+    private static String describe(Order order) {
+        return String.join("|", order.getUser().getName(), order.getUser().getSurname(),
+                order.getUser().getAddress(), order.getUser().getMetroStation(), order.getUser().getPhone(),
+                order.getOrderDate().toString(), order.getPeriod().name(), order.getScooterColor().name(),
+                order.getComment());
+    }
+}
@@ -0,0 +1,77 @@
+package data;
+
+import config.AppConfig;
+import models.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Источник заказов для параметризованных тестов, выбираемый свойствами
+ * orders.file, orders.count и orders.seed
+ */
+public final class TestOrders {
+    private static final Logger log = LoggerFactory.getLogger(TestOrders.class);
+
+    /**
+     * Наибольшее число строк параметров из файла или генератора
+     */
+    public static final int MAX_TEST_ROWS = 1000;
+
+    private TestOrders() {
+    }
+
+    /**
+     * Проверяет, заданы ли заказы свойствами запуска
+     *
+     * @return true, если заказы нужно брать из файла или генератора
+     */
+    public static boolean isConfigured() {
+        return !AppConfig.ORDERS_FILE.isEmpty() || AppConfig.ORDERS_COUNT > 0;
+    }
+
+    /**
+     * Открывает поток заказов: из файла orders.file, если он задан, иначе из генератора с seed orders.seed.
+     * Число заказов ограничивается свойством orders.count, для файла 0 означает все строки
+     *
+     * @return ленивый поток заказов, который нужно закрыть
+     */
+    public static Stream<Order> stream() {
+        Stream<Order> orders = AppConfig.ORDERS_FILE.isEmpty()
+                ? OrderGenerator.stream(AppConfig.ORDERS_SEED)
+                : OrderFiles.read(Paths.get(AppConfig.ORDERS_FILE));
+        return AppConfig.ORDERS_COUNT > 0 ? orders.limit(AppConfig.ORDERS_COUNT) : orders;
+    }
+
+    /**
+     * Возвращает строки параметров «название, пользователь, заказ», не больше {@link #MAX_TEST_ROWS}.
+     * Строки строятся сразу все: JUnit Parameterized всё равно копирует их в список в своём конструкторе,
+     * и каждая строка держит свой заказ до конца прогона. Ленивое чтение по одному заказу даёт только
+     * {@link #stream()}, которым пользуются потребители вроде нагрузочного прогона
+     *
+     * @return строки параметров
+     */
+    public static List<Object[]> parameters() {
+        List<Object[]> rows = new ArrayList<>();
+        try (Stream<Order> orders = stream()) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext() && rows.size() < MAX_TEST_ROWS) {
+                Order order = iterator.next();
+                String name = String.format("Заказ %d: %s, %s, %s %s", rows.size() + 1,
+                        order.getPeriod().getDescription(), order.getScooterColor().getColorName(),
+                        order.getUser().getName(), order.getUser().getSurname());
+                rows.add(new Object[]{name, order.getUser(), order});
+            }
+            if (iterator.hasNext()) {
+                log.warn("Заказов больше {}, в тесты взяты только первые: остальные проверяйте нагрузочным прогоном",
+                        MAX_TEST_ROWS);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,148 @@
+package driver;
+
+import config.AppConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Считает команды, которые тест отправляет браузеру, по их типам.
+ * Подключается к драйверу через {@link EventFiringDecorator}.
+ * Команды драйвера и элементов учитываются по имени метода, команды вложенных объектов
+ * (navigate(), manage().logs() и других) - с именем их интерфейса, например Logs.get,
+ * чтобы чтение журнала браузера не смешивалось с переходом по адресу.
+ * Команды, выполненные внутри {@link #excluded(String, Supplier)}, в бюджет не входят
+ * и учитываются отдельно по причине: число продолжений и повторов ожидания зависит от скорости
+ * страницы и сети, а выяснение согласия с куками выполняет только первый тест JVM.
+ */
+public class CommandCounter implements WebDriverListener {
+
+    /**
+     * Методы, которые выполняются без обращения к браузеру
+     */
+    private static final Set<String> LOCAL_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "getId", "getCoordinates",
+            "toString", "hashCode", "equals")));
+
+    /**
+     * Причина, по которой команды текущего потока не входят в бюджет, или null
+     */
+    private static final ThreadLocal<String> EXCLUSION = new ThreadLocal<>();
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> excluded = new ConcurrentHashMap<>();
+
+    /**
+     * Оборачивает драйвер так, чтобы все его команды учитывались счётчиком
+     *
+     * @param driver исходный драйвер
+     * @return драйвер, команды которого учитываются
+     */
+    public WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        String exclusion = EXCLUSION.get();
+        if (exclusion != null) {
+            excluded.computeIfAbsent(exclusion, reason -> new LongAdder()).increment();
+            return;
+        }
+        String command = target instanceof WebDriver || target instanceof WebElement
+                ? method.getName()
+                : method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        counts.computeIfAbsent(command, name -> new LongAdder()).increment();
+    }
+
+    /**
+     * Выполняет команды текущего потока так, чтобы они не входили в бюджет теста
+     *
+     * @param reason   причина, по ней команды учитываются отдельно
+     * @param commands команды браузеру
+     * @param <T>      тип результата
+     * @return результат команд
+     */
+    public static <T> T excluded(String reason, Supplier<T> commands) {
+        String previous = EXCLUSION.get();
+        EXCLUSION.set(reason);
+        try {
+            return commands.get();
+        } finally {
+            if (previous == null) {
+                EXCLUSION.remove();
+            } else {
+                EXCLUSION.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Возвращает общее число команд
+     *
+     * @return число команд
+     */
+    public long getTotal() {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Возвращает число команд по типам
+     *
+     * @return число команд по имени метода, упорядоченное по имени
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((name, count) -> snapshot.put(name, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Возвращает число команд, не вошедших в бюджет
+     *
+     * @return число команд по причине, упорядоченное по причине
+     */
+    public Map<String, Long> getExcluded() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        excluded.forEach((reason, count) -> snapshot.put(reason, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Учитывает команды в отчёте {@link CommandReport} и сверяет их число с бюджетом.
+     * Бюджет проверяется только против локальной копии приложения с ожиданиями через наблюдатель
+     * и заполнением форм скриптом: бюджеты замерены в этом режиме, в остальных команды только учитываются
+     *
+     * @param testClass класс теста
+     * @param name      имя строки параметров или null для общей сессии класса
+     * @param budget    наибольшее допустимое число команд, отрицательное - без проверки
+     * @throws AssertionError если команд больше бюджета
+     */
+    public void checkBudget(Class<?> testClass, String name, int budget) {
+        long total = getTotal();
+        Map<String, Long> snapshot = getCounts();
+        CommandReport.getInstance().record(testClass, name, total, snapshot, getExcluded());
+        if (AppConfig.COMMAND_BUDGETS && AppConfig.LOCAL_MODE && AppConfig.OBSERVER_WAITS
+                && AppConfig.FAST_FORM_FILL && budget >= 0 && total > budget) {
+            String subject = name == null ? "Общая сессия " + testClass.getSimpleName() : "Тест " + name;
+            throw new AssertionError(subject + ": " + total + " команд браузеру при бюджете " + budget
+                    + ": " + snapshot);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package driver;
+
+import config.AppConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Число команд браузеру по тестам прогона.
+ * При завершении JVM пишет в target/metrics/commands.json для каждого класса наибольшее число команд
+ * одного теста и общей сессии, команды каждого теста по типам и команды вне бюджета по причинам.
+ * По этим замерам выставляются бюджеты {@link runner.CommandBudget}.
+ */
+public final class CommandReport {
+    private static final Logger log = LoggerFactory.getLogger(CommandReport.class);
+
+    private static final String REPORT_FILE = "commands.json";
+
+    private static final CommandReport instance = new CommandReport();
+
+    private final Map<String, List<Map<String, Object>>> tests = new TreeMap<>();
+
+    private CommandReport() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writeReport, "command-report"));
+    }
+
+    /**
+     * Возвращает общий отчёт о командах
+     *
+     * @return отчёт
+     */
+    public static CommandReport getInstance() {
+        return instance;
+    }
+
+    /**
+     * Учитывает команды одного теста или общей сессии
+     *
+     * @param testClass класс теста
+     * @param name      имя строки параметров или null для общей сессии класса
+     * @param total     общее число команд
+     * @param counts    число команд по типам
+     * @param excluded  число команд вне бюджета по причинам
+     */
+    public synchronized void record(Class<?> testClass, String name, long total, Map<String, Long> counts,
+                                    Map<String, Long> excluded) {
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("name", name == null ? "" : name);
+        test.put("shared", name == null);
+        test.put("total", total);
+        test.put("counts", counts);
+        test.put("excluded", excluded);
+        tests.computeIfAbsent(testClass.getName(), key -> new ArrayList<>()).add(test);
+    }
+
+    private synchronized void writeReport() {
+        if (tests.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("appMode", AppConfig.LOCAL_MODE ? "local" : "remote");
+        report.put("waitEngine", AppConfig.OBSERVER_WAITS ? "observer" : "polling");
+        report.put("formFill", AppConfig.FAST_FORM_FILL ? "fast" : "keys");
+        Map<String, Object> classes = new LinkedHashMap<>();
+        tests.forEach((testClass, rows) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("maxPerTest", max(rows, false));
+            summary.put("maxShared", max(rows, true));
+            summary.put("tests", rows);
+            classes.put(testClass, summary);
+        });
+        report.put("classes", classes);
+        Path file = Paths.get(AppConfig.METRICS_DIR, REPORT_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Отчёт о командах браузеру записан: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать отчёт о командах браузеру: {}", file, e);
+        }
+    }
+
+    private static long max(List<Map<String, Object>> rows, boolean shared) {
+        return rows.stream()
+                .filter(row -> (Boolean) row.get("shared") == shared)
+                .mapToLong(row -> (Long) row.get("total"))
+                .max()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,141 @@
+package driver;
+
+import config.AppConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Фабрика браузеров.
+ * Запускает браузер по выбранному профилю и запоминает, сколько длился запуск.
+ */
+public final class DriverFactory {
+    private static final Logger log = LoggerFactory.getLogger(DriverFactory.class);
+
+    private static final LaunchProfile PROFILE = LaunchProfile.byName(AppConfig.BROWSER_PROFILE);
+
+    /**
+     * Длительности запусков браузера по профилям, в миллисекундах
+     */
+    private static final Map<LaunchProfile, LongSummaryStatistics> launchTimes = new EnumMap<>(LaunchProfile.class);
+
+    private static volatile boolean driverBinaryReady;
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Запускает новый экземпляр браузера по профилю из свойства browser.profile
+     *
+     * @return драйвер запущенного браузера
+     */
+    public static WebDriver create() {
+        return create(PROFILE);
+    }
+
+    /**
+     * Запускает новый экземпляр браузера по указанному профилю.
+     * Браузер собирает журнал консоли, чтобы его можно было сохранить при падении теста.
+     * Таймаут асинхронных скриптов выставляется здесь один раз, ожидания страниц на него полагаются.
+     * Время запуска учитывается без подключения фильтра запросов.
+     * Если подготовка окна или другой шаг после запуска падает, браузер закрывается
+     *
+     * @param profile профиль запуска
+     * @return драйвер запущенного браузера
+     */
+    public static WebDriver create(LaunchProfile profile) {
+        setupDriverBinary();
+        long start = System.nanoTime();
+        ChromeOptions options = profile.options();
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        WebDriver driver = new ChromeDriver(options);
+        try {
+            profile.prepareWindow(driver);
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(AppConfig.SCRIPT_TIMEOUT));
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            recordLaunch(profile, elapsed);
+            log.info("Браузер запущен за {} мс, профиль {}", elapsed, profile.getProfileName());
+            RequestFilter.attach(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            quitAfterFailedLaunch(driver, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Закрывает браузер, который запустился, но не был подготовлен к работе,
+     * чтобы процесс браузера не остался висеть без драйвера
+     */
+    private static void quitAfterFailedLaunch(WebDriver driver, RuntimeException cause) {
+        log.error("Не удалось подготовить запущенный браузер, закрываю его");
+        RequestFilter.detach(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Возвращает статистику длительности запусков для профиля
+     *
+     * @param profile профиль запуска
+     * @return количество, минимум, максимум и среднее время запуска в миллисекундах
+     */
+    public static LongSummaryStatistics getLaunchStatistics(LaunchProfile profile) {
+        synchronized (launchTimes) {
+            LongSummaryStatistics copy = new LongSummaryStatistics();
+            copy.combine(launchTimes.getOrDefault(profile, new LongSummaryStatistics()));
+            return copy;
+        }
+    }
+
+    /**
+     * Пишет в лог статистику запусков по всем использованным профилям
+     */
+    public static void logLaunchStatistics() {
+        synchronized (launchTimes) {
+            launchTimes.forEach((profile, stats) -> log.info(
+                    "Запуски браузера, профиль {}: {} шт., среднее {} мс, мин. {} мс, макс. {} мс",
+                    profile.getProfileName(), stats.getCount(), Math.round(stats.getAverage()),
+                    stats.getMin(), stats.getMax()));
+        }
+    }
+
+    private static void recordLaunch(LaunchProfile profile, long elapsedMillis) {
+        synchronized (launchTimes) {
+            launchTimes.computeIfAbsent(profile, key -> new LongSummaryStatistics()).accept(elapsedMillis);
+        }
+    }
+
+    /**
+     * Один раз на JVM готовит бинарный файл chromedriver
+     */
+    private static void setupDriverBinary() {
+        if (driverBinaryReady) {
+            return;
+        }
+        synchronized (DriverFactory.class) {
+            if (!driverBinaryReady) {
+                WebDriverManager.chromedriver().setup();
+                driverBinaryReady = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package driver;
+
+import config.AppConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Пул прогретых браузеров.
+ * Запускает браузеры в фоне, пока тесты работают, и выдаёт тесту уже запущенный браузер,
+ * оставленный на служебной странице домена приложения.
+ * После теста сбрасывает состояние браузера в фоне вместо перезапуска,
+ * поэтому запуск, сброс и закрытие браузеров не попадают во время выполнения тестов.
+ * Браузеры, не прошедшие проверку работоспособности или сброс, закрываются.
+ * Выданный браузер закреплён за получившим его потоком.
+ */
+public final class DriverPool {
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final DriverPool INSTANCE = new DriverPool(AppConfig.DRIVER_POOL_SIZE, AppConfig.DRIVER_MAX_LAUNCHES);
+
+    /**
+     * Как часто ожидающий браузера тест проверяет, не упал ли фоновый запуск
+     */
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    /**
+     * Свободные браузеры, готовые к выдаче
+     */
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+
+    /**
+     * Все живые браузеры пула, как свободные, так и выданные
+     */
+    private final Set<WebDriver> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Потоки, которым выданы браузеры. Браузер принадлежит одному потоку до возврата в пул
+     */
+    private final Map<WebDriver, Thread> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Разрешения на запуск новых браузеров, их число равно размеру пула
+     */
+    private final Semaphore capacity;
+
+    /**
+     * Фоновые запуски браузеров, число потоков ограничивает одновременные запуски
+     */
+    private final ExecutorService launcher;
+
+    /**
+     * Фоновые сбросы и закрытия браузеров
+     */
+    private final ExecutorService cleaner;
+
+    /**
+     * Последняя ошибка фонового запуска, ещё не переданная ожидающему тесту
+     */
+    private final AtomicReference<RuntimeException> launchFailure = new AtomicReference<>();
+
+    private final LongAdder backgroundLaunchNanos = new LongAdder();
+    private final LongAdder backgroundResetNanos = new LongAdder();
+    private final LongAdder backgroundQuitNanos = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+
+    private DriverPool(int size, int maxLaunches) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Размер пула браузеров должен быть больше нуля");
+        }
+        if (maxLaunches < 1) {
+            throw new IllegalArgumentException("Число одновременных запусков браузеров должно быть больше нуля");
+        }
+        this.capacity = new Semaphore(size);
+        this.launcher = Executors.newFixedThreadPool(Math.min(size, maxLaunches), daemonThreads("driver-launcher"));
+        this.cleaner = Executors.newFixedThreadPool(size, daemonThreads("driver-cleaner"));
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Возвращает общий пул браузеров
+     *
+     * @return пул браузеров
+     */
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Выдаёт браузер, оставленный на служебной странице домена приложения.
+     * Если пул не заполнен, дозапускает браузеры в фоне и ждёт первого готового,
+     * иначе ждёт освобождения одного из выданных.
+     *
+     * @return драйвер браузера
+     */
+    public WebDriver lease() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(AppConfig.DRIVER_LEASE_TIMEOUT);
+        try {
+            while (true) {
+                prewarm();
+                WebDriver driver = awaitIdle(deadline);
+                if (isHealthy(driver)) {
+                    log.debug("Выдаю браузер из пула");
+                    return assignOwner(driver);
+                }
+                evict(driver);
+            }
+        } finally {
+            leaseWaitNanos.add(System.nanoTime() - start);
+            leases.increment();
+        }
+    }
+
+    /**
+     * Возвращает браузер в пул. Сброс состояния выполняется в фоне,
+     * браузер снова становится доступным после его окончания.
+     *
+     * @param driver драйвер, полученный через {@link #lease()}
+     */
+    public void release(WebDriver driver) {
+        if (driver == null || !sessions.contains(driver)) {
+            return;
+        }
+        Thread owner = owners.remove(driver);
+        if (owner != Thread.currentThread()) {
+            evict(driver);
+            throw new IllegalStateException("Браузер возвращается в пул не тем потоком, которому был выдан");
+        }
+        runInBackground(() -> {
+            long start = System.nanoTime();
+            try {
+                reset(driver);
+                idle.offer(driver);
+            } catch (WebDriverException e) {
+                log.warn("Не удалось сбросить состояние браузера, он будет закрыт", e);
+                evict(driver);
+            } finally {
+                backgroundResetNanos.add(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Закрывает браузер в фоне и освобождает место в пуле
+     *
+     * @param driver драйвер
+     */
+    public void evict(WebDriver driver) {
+        if (driver == null || !sessions.remove(driver)) {
+            return;
+        }
+        idle.remove(driver);
+        owners.remove(driver);
+        runInBackground(() -> quit(driver));
+    }
+
+    /**
+     * Дожидается фоновых запусков и сбросов и закрывает все браузеры пула
+     */
+    public void shutdown() {
+        launcher.shutdown();
+        cleaner.shutdown();
+        try {
+            launcher.awaitTermination(AppConfig.DRIVER_LEASE_TIMEOUT, TimeUnit.SECONDS);
+            cleaner.awaitTermination(AppConfig.DRIVER_LEASE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (WebDriver driver : sessions) {
+            evict(driver);
+        }
+        DriverFactory.logLaunchStatistics();
+        logSavedTime();
+    }
+
+    /**
+     * Пока в пуле есть место, запускает недостающие браузеры в фоне
+     */
+    private void prewarm() {
+        while (capacity.tryAcquire()) {
+            try {
+                launcher.execute(this::launchInBackground);
+            } catch (RejectedExecutionException e) {
+                capacity.release();
+                throw new IllegalStateException("Пул браузеров уже остановлен", e);
+            }
+        }
+    }
+
+    private void launchInBackground() {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = launch();
+            idle.offer(driver);
+            log.debug("Браузер запущен в фоне и ждёт теста");
+        } catch (RuntimeException e) {
+            log.error("Не удалось запустить браузер в фоне", e);
+            launchFailure.set(e);
+        } finally {
+            backgroundLaunchNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private WebDriver assignOwner(WebDriver driver) {
+        owners.put(driver, Thread.currentThread());
+        return driver;
+    }
+
+    private WebDriver launch() {
+        WebDriver driver;
+        try {
+            driver = DriverFactory.create();
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        sessions.add(driver);
+        try {
+            driver.get(AppConfig.PARKING_URL);
+        } catch (WebDriverException e) {
+            evict(driver);
+            throw e;
+        }
+        RequestFilter.discard(driver);
+        return driver;
+    }
+
+    /**
+     * Ждёт свободный браузер. Если фоновый запуск упал, передаёт его ошибку ожидающему тесту
+     */
+    private WebDriver awaitIdle(long deadline) {
+        try {
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Не дождались свободного браузера в пуле");
+                }
+                WebDriver driver = idle.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)),
+                        TimeUnit.NANOSECONDS);
+                if (driver != null) {
+                    return driver;
+                }
+                RuntimeException failure = launchFailure.getAndSet(null);
+                if (failure != null) {
+                    throw new RuntimeException("Не удалось запустить браузер", failure);
+                }
+                prewarm();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ожидание браузера из пула прервано", e);
+        }
+    }
+
+    /**
+     * Проверяет, что сессия браузера жива и отвечает на команды
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            log.warn("Браузер из пула не отвечает", e);
+            return false;
+        }
+    }
+
+    /**
+     * Очищает куки и хранилища, закрывает лишние окна и оставляет браузер
+     * на служебной странице домена приложения, откуда тест сам откроет нужную страницу
+     */
+    private void reset(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        String mainHandle = handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(mainHandle)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(mainHandle);
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        driver.manage().deleteAllCookies();
+        driver.get(AppConfig.PARKING_URL);
+        RequestFilter.discard(driver);
+    }
+
+    private void quit(WebDriver driver) {
+        long start = System.nanoTime();
+        log.info("Закрываю браузер и удаляю его из пула");
+        RequestFilter.detach(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("Ошибка при закрытии браузера", e);
+        } finally {
+            capacity.release();
+            backgroundQuitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Выполняет задачу в фоне, а после остановки пула - в текущем потоке
+     */
+    private void runInBackground(Runnable task) {
+        try {
+            cleaner.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Пишет в лог, сколько времени фоновая работа пула сэкономила тестам
+     */
+    private void logSavedTime() {
+        long background = backgroundLaunchNanos.sum() + backgroundResetNanos.sum() + backgroundQuitNanos.sum();
+        long waited = leaseWaitNanos.sum();
+        log.info("Пул браузеров: выдач {}, в фоне запуски {} мс, сбросы {} мс, закрытия {} мс; "
+                        + "тесты ждали браузер {} мс, сэкономлено около {} мс",
+                leases.sum(),
+                TimeUnit.NANOSECONDS.toMillis(backgroundLaunchNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(backgroundResetNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(backgroundQuitNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(waited),
+                TimeUnit.NANOSECONDS.toMillis(Math.max(0, background - waited)));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
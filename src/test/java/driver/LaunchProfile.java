@@ -0,0 +1,124 @@
+package driver;
+
+import config.AppConfig;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Профили запуска браузера.
+ * Профиль выбирается свойством browser.profile по его имени.
+ */
+public enum LaunchProfile {
+    /**
+     * Обычный браузер с окном на весь экран, как при ручном запуске.
+     * Стратегия загрузки eager: готовность приложения определяет сама страница, а не событие load
+     */
+    DEFAULT("default") {
+        @Override
+        public ChromeOptions options() {
+            ChromeOptions options = new ChromeOptions();
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            return options;
+        }
+
+        @Override
+        public void prepareWindow(WebDriver driver) {
+            driver.manage().window().maximize();
+        }
+    },
+
+    /**
+     * Безголовый браузер без GPU, расширений и фоновых сервисов,
+     * с окном фиксированного размера и стратегией загрузки eager
+     */
+    FAST_HEADLESS("fast-headless") {
+        @Override
+        public ChromeOptions options() {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments(
+                    "--headless=new",
+                    "--window-size=" + AppConfig.BROWSER_WINDOW_SIZE,
+                    "--disable-gpu",
+                    "--disable-extensions",
+                    "--disable-background-networking",
+                    "--disable-background-timer-throttling",
+                    "--disable-backgrounding-occluded-windows",
+                    "--disable-renderer-backgrounding",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--disable-dev-shm-usage",
+                    "--no-first-run",
+                    "--mute-audio");
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            return options;
+        }
+
+        @Override
+        public void prepareWindow(WebDriver driver) {
+        }
+    },
+
+    /**
+     * Браузер с окном на весь экран для отладки тестов глазами
+     */
+    DEBUG("debug") {
+        @Override
+        public ChromeOptions options() {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--start-maximized");
+            options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+            return options;
+        }
+
+        @Override
+        public void prepareWindow(WebDriver driver) {
+            driver.manage().window().maximize();
+        }
+    };
+
+    private final String profileName;
+
+    LaunchProfile(String profileName) {
+        this.profileName = profileName;
+    }
+
+    /**
+     * Возвращает имя профиля, используемое в свойстве browser.profile
+     *
+     * @return имя профиля
+     */
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Создаёт настройки Chrome для профиля
+     *
+     * @return настройки браузера
+     */
+    public abstract ChromeOptions options();
+
+    /**
+     * Настраивает окно только что запущенного браузера
+     *
+     * @param driver драйвер браузера
+     */
+    public abstract void prepareWindow(WebDriver driver);
+
+    /**
+     * Ищет профиль по имени
+     *
+     * @param profileName имя профиля
+     * @return профиль запуска
+     */
+    public static LaunchProfile byName(String profileName) {
+        for (LaunchProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(profileName)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный профиль запуска браузера: " + profileName);
+    }
+}
@@ -0,0 +1,476 @@
+package driver;
+
+import config.AppConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Фильтр запросов браузера через Chrome DevTools Protocol.
+ * Блокирует запросы по типу ресурса через домен Fetch и по шаблону адреса через Network.setBlockedURLs,
+ * считает заблокированные и загруженные запросы и переданные байты.
+ * Команды и события CDP задаются по имени, поэтому фильтр не зависит от версии Chrome.
+ * Блокировка включается свойством -Dnetwork.filter=on. Без него фильтр только считает запросы
+ * и время загрузки и при завершении JVM записывает их средние по каждому ключу статистики
+ * в target/metrics/network-baseline.json.
+ * Прогон с фильтром читает этот файл и показывает, сколько байт и времени загрузки сэкономлено
+ * относительно базы. Размер самих заблокированных ответов браузер не знает, поэтому экономия считается
+ * только через базовый прогон; без него отчёт показывает лишь число заблокированных запросов.
+ */
+public final class RequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestFilter.class);
+
+    private static final String BASELINE_FILE = "network-baseline.json";
+
+    private static final Map<WebDriver, RequestFilter> filters = new ConcurrentHashMap<>();
+
+    /**
+     * Потребление сети в этом прогоне по ключам статистики
+     */
+    private static final Map<String, Usage> usage = new ConcurrentHashMap<>();
+
+    /**
+     * Средние значения базового прогона без фильтра по ключам статистики
+     */
+    private static final Map<String, Usage> baseline = AppConfig.NETWORK_FILTER ? readBaseline() : Collections.emptyMap();
+
+    private static final LongAdder totalBlocked = new LongAdder();
+    private static final LongAdder totalLoaded = new LongAdder();
+    private static final LongAdder totalBytes = new LongAdder();
+    private static final LongAdder totalLoadTime = new LongAdder();
+    private static final LongAdder measuredLoads = new LongAdder();
+    private static final LongAdder totalBytesSaved = new LongAdder();
+    private static final LongAdder totalLoadTimeSaved = new LongAdder();
+    private static final LongAdder comparedTests = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            logTotals();
+            if (!AppConfig.NETWORK_FILTER) {
+                writeBaseline();
+            }
+        }, "request-filter-stats"));
+    }
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED = event("Fetch.requestPaused");
+    private static final Event<Map<String, Object>> LOADING_FAILED = event("Network.loadingFailed");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = event("Network.loadingFinished");
+
+    /**
+     * Длительность последней полной загрузки документа, в миллисекундах
+     */
+    private static final String READ_LOAD_TIME =
+            "var entry = performance.getEntriesByType('navigation')[0];" +
+            "return entry && entry.loadEventEnd > 0 ? Math.round(entry.loadEventEnd - entry.startTime) : null;";
+
+    private final DevTools devTools;
+
+    /**
+     * Идентификаторы запросов Network, уже учтённых как заблокированные через Fetch
+     */
+    private final Set<String> blockedByType = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, LongAdder> blocked = new ConcurrentHashMap<>();
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private RequestFilter(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Подключает фильтр к только что запущенному браузеру.
+     * Запросы блокируются, только если это разрешено свойством network.filter
+     *
+     * @param driver драйвер браузера
+     */
+    static void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            RequestFilter filter = new RequestFilter(devTools);
+            filter.start();
+            filters.put(driver, filter);
+            log.debug("Фильтр запросов подключён: типы {}, адреса {}",
+                    AppConfig.BLOCKED_RESOURCE_TYPES, AppConfig.BLOCKED_URL_PATTERNS);
+        } catch (WebDriverException e) {
+            log.warn("Не удалось подключить фильтр запросов, браузер работает без него", e);
+        }
+    }
+
+    /**
+     * Отключает фильтр от браузера перед его закрытием
+     *
+     * @param driver драйвер браузера
+     */
+    static void detach(WebDriver driver) {
+        RequestFilter filter = filters.remove(driver);
+        if (filter != null) {
+            try {
+                filter.devTools.close();
+            } catch (WebDriverException e) {
+                log.debug("Ошибка при отключении фильтра запросов", e);
+            }
+        }
+    }
+
+    /**
+     * Сбрасывает счётчики запросов браузера, не учитывая их ни в какой статистике.
+     * Вызывается пулом после его собственных переходов, чтобы служебная страница
+     * не попадала в статистику следующего теста
+     *
+     * @param driver драйвер браузера из пула
+     */
+    static void discard(WebDriver driver) {
+        RequestFilter filter = filters.get(driver);
+        if (filter != null) {
+            filter.drain(null);
+        }
+    }
+
+    /**
+     * Возвращает статистику запросов браузера с момента предыдущего вызова и обнуляет её.
+     * Статистика с одним ключом сравнивается с базовым прогоном без фильтра
+     *
+     * @param driver драйвер браузера из пула
+     * @param key    что делал браузер, например имя класса тестов
+     * @return статистика или null, если фильтр к браузеру не подключён
+     */
+    public static Stats collect(WebDriver driver, String key) {
+        RequestFilter filter = filters.get(driver);
+        if (filter == null) {
+            return null;
+        }
+        Long loadTime = null;
+        try {
+            Object value = ((JavascriptExecutor) driver).executeScript(READ_LOAD_TIME);
+            loadTime = value == null ? null : ((Number) value).longValue();
+        } catch (WebDriverException e) {
+            log.debug("Не удалось прочитать время загрузки страницы", e);
+        }
+        Stats stats = filter.drain(loadTime);
+        usage.computeIfAbsent(key, name -> new Usage()).add(stats.bytes, stats.loadTime);
+        Usage base = baseline.get(key);
+        if (base != null) {
+            stats.compare(base);
+        }
+        return stats;
+    }
+
+    private void start() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : AppConfig.BLOCKED_RESOURCE_TYPES) {
+            Map<String, Object> pattern = new HashMap<>();
+            pattern.put("urlPattern", "*");
+            pattern.put("resourceType", type);
+            pattern.put("requestStage", "Request");
+            patterns.add(pattern);
+        }
+
+        devTools.addListener(REQUEST_PAUSED, this::onRequestPaused);
+        devTools.addListener(LOADING_FAILED, this::onLoadingFailed);
+        devTools.addListener(LOADING_FINISHED, this::onLoadingFinished);
+
+        devTools.send(command("Network.enable", new HashMap<>()));
+        if (!AppConfig.NETWORK_FILTER) {
+            return;
+        }
+        if (!AppConfig.BLOCKED_URL_PATTERNS.isEmpty()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("urls", AppConfig.BLOCKED_URL_PATTERNS);
+            devTools.send(command("Network.setBlockedURLs", params));
+        }
+        if (!patterns.isEmpty()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("patterns", patterns);
+            devTools.send(command("Fetch.enable", params));
+        }
+    }
+
+    /**
+     * Запрос ресурса блокируемого типа: отклоняем его, не отправляя в сеть
+     */
+    private void onRequestPaused(Map<String, Object> params) {
+        Object networkId = params.get("networkId");
+        if (networkId != null) {
+            blockedByType.add(networkId.toString());
+        }
+        count(String.valueOf(params.get("resourceType")));
+        Map<String, Object> fail = new HashMap<>();
+        fail.put("requestId", params.get("requestId"));
+        fail.put("errorReason", "BlockedByClient");
+        try {
+            devTools.send(command("Fetch.failRequest", fail));
+        } catch (WebDriverException e) {
+            log.debug("Не удалось отклонить запрос {}", params.get("requestId"), e);
+        }
+    }
+
+    /**
+     * Запрос, заблокированный по адресу, приходит как неудавшийся с причиной блокировки
+     */
+    private void onLoadingFailed(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        if (blockedByType.remove(requestId)) {
+            return;
+        }
+        if (params.get("blockedReason") != null) {
+            count(String.valueOf(params.get("type")));
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> params) {
+        loaded.increment();
+        totalLoaded.increment();
+        Object length = params.get("encodedDataLength");
+        if (length instanceof Number) {
+            bytes.add(((Number) length).longValue());
+            totalBytes.add(((Number) length).longValue());
+        }
+    }
+
+    private void count(String resourceType) {
+        blocked.computeIfAbsent(resourceType, type -> new LongAdder()).increment();
+        totalBlocked.increment();
+    }
+
+    private Stats drain(Long loadTime) {
+        Map<String, Long> blockedByResource = new TreeMap<>();
+        blocked.forEach((type, count) -> blockedByResource.put(type, count.sumThenReset()));
+        blockedByResource.values().removeIf(count -> count == 0);
+        blockedByType.clear();
+        if (loadTime != null) {
+            totalLoadTime.add(loadTime);
+            measuredLoads.increment();
+        }
+        return new Stats(blockedByResource, loaded.sumThenReset(), bytes.sumThenReset(), loadTime);
+    }
+
+    private static void logTotals() {
+        if (totalBlocked.sum() == 0 && totalLoaded.sum() == 0) {
+            return;
+        }
+        long loads = measuredLoads.sum();
+        log.info("Запросы браузера за прогон, блокировка {}: заблокировано {}, загружено {}, передано {} КБ, "
+                        + "средняя загрузка страницы {} мс",
+                AppConfig.NETWORK_FILTER ? "включена" : "выключена", totalBlocked.sum(), totalLoaded.sum(),
+                totalBytes.sum() / 1024, loads == 0 ? "-" : totalLoadTime.sum() / loads);
+        if (comparedTests.sum() > 0) {
+            log.info("Относительно прогона без фильтра в {} тестах сэкономлено {} КБ и {} мс загрузки страниц",
+                    comparedTests.sum(), totalBytesSaved.sum() / 1024, totalLoadTimeSaved.sum());
+        } else if (AppConfig.NETWORK_FILTER) {
+            log.info("Базового прогона без фильтра нет, экономию не с чем сравнить: запустите тесты без -Dnetwork.filter=on");
+        }
+    }
+
+    /**
+     * Записывает средние значения прогона без фильтра как базу для сравнения
+     */
+    private static void writeBaseline() {
+        if (usage.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Long>> averages = new TreeMap<>();
+        usage.forEach((key, value) -> averages.put(key, value.averages()));
+        Path file = Paths.get(AppConfig.METRICS_DIR, BASELINE_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(averages).getBytes(StandardCharsets.UTF_8));
+            log.info("База запросов без фильтра записана: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать базу запросов без фильтра: {}", file, e);
+        }
+    }
+
+    private static Map<String, Usage> readBaseline() {
+        Path file = Paths.get(AppConfig.METRICS_DIR, BASELINE_FILE);
+        if (!Files.exists(file)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Usage> result = new HashMap<>();
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            Map<String, Object> values = new Json().toType(content, Json.MAP_TYPE);
+            values.forEach((key, value) -> result.put(key, Usage.of((Map<?, ?>) value)));
+        } catch (IOException | JsonException | ClassCastException e) {
+            log.warn("Не удалось прочитать базу запросов без фильтра: {}", file, e);
+        }
+        return result;
+    }
+
+    private static Command<Void> command(String method, Map<String, Object> params) {
+        return new Command<>(method, params);
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, RequestFilter::readMap);
+    }
+
+    private static Map<String, Object> readMap(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+
+    /**
+     * Статистика запросов браузера за один тест
+     */
+    public static final class Stats {
+        private final Map<String, Long> blocked;
+        private final long loaded;
+        private final long bytes;
+        private final Long loadTime;
+        private Long bytesSaved;
+        private Long loadTimeSaved;
+
+        private Stats(Map<String, Long> blocked, long loaded, long bytes, Long loadTime) {
+            this.blocked = blocked;
+            this.loaded = loaded;
+            this.bytes = bytes;
+            this.loadTime = loadTime;
+        }
+
+        /**
+         * Возвращает число заблокированных запросов
+         *
+         * @return число запросов
+         */
+        public long getBlockedCount() {
+            return blocked.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Возвращает число заблокированных запросов по типам ресурсов
+         *
+         * @return число запросов по типу ресурса
+         */
+        public Map<String, Long> getBlocked() {
+            return blocked;
+        }
+
+        /**
+         * Возвращает число загруженных запросов
+         *
+         * @return число запросов
+         */
+        public long getLoadedCount() {
+            return loaded;
+        }
+
+        /**
+         * Возвращает число байт, переданных по сети для загруженных запросов
+         *
+         * @return число байт
+         */
+        public long getTransferredBytes() {
+            return bytes;
+        }
+
+        /**
+         * Возвращает длительность последней полной загрузки страницы
+         *
+         * @return миллисекунды или null, если страница ещё не загрузилась
+         */
+        public Long getLoadTime() {
+            return loadTime;
+        }
+
+        /**
+         * Возвращает, на сколько меньше байт передано, чем в среднем в прогоне без фильтра
+         *
+         * @return число байт или null, если базового прогона нет
+         */
+        public Long getBytesSaved() {
+            return bytesSaved;
+        }
+
+        /**
+         * Возвращает, на сколько быстрее загрузилась страница, чем в среднем в прогоне без фильтра
+         *
+         * @return миллисекунды или null, если базового прогона нет или страница не загрузилась
+         */
+        public Long getLoadTimeSaved() {
+            return loadTimeSaved;
+        }
+
+        private void compare(Usage base) {
+            bytesSaved = base.bytes - bytes;
+            totalBytesSaved.add(bytesSaved);
+            if (loadTime != null && base.loadTime != null) {
+                loadTimeSaved = base.loadTime - loadTime;
+                totalLoadTimeSaved.add(loadTimeSaved);
+            }
+            comparedTests.increment();
+        }
+
+        @Override
+        public String toString() {
+            return "заблокировано " + getBlockedCount() + " " + blocked
+                    + ", загружено " + loaded + " (" + bytes / 1024 + " КБ)"
+                    + ", загрузка страницы " + (loadTime == null ? "-" : loadTime + " мс")
+                    + (bytesSaved == null ? "" : ", сэкономлено " + bytesSaved / 1024 + " КБ и "
+                    + (loadTimeSaved == null ? "-" : loadTimeSaved + " мс") + " относительно прогона без фильтра");
+        }
+    }
+
+    /**
+     * Суммарное потребление сети по одному ключу статистики и его средние значения
+     */
+    private static final class Usage {
+        private long count;
+        private long bytes;
+        private long loads;
+        private Long loadTime;
+
+        synchronized void add(long bytes, Long loadTime) {
+            count++;
+            this.bytes += bytes;
+            if (loadTime != null) {
+                loads++;
+                this.loadTime = (this.loadTime == null ? 0 : this.loadTime) + loadTime;
+            }
+        }
+
+        synchronized Map<String, Long> averages() {
+            Map<String, Long> result = new TreeMap<>();
+            result.put("bytes", count == 0 ? 0 : bytes / count);
+            if (loadTime != null) {
+                result.put("loadTimeMs", loadTime / loads);
+            }
+            return result;
+        }
+
+        static Usage of(Map<?, ?> averages) {
+            Usage result = new Usage();
+            result.bytes = ((Number) averages.get("bytes")).longValue();
+            Object loadTime = averages.get("loadTimeMs");
+            result.loadTime = loadTime == null ? null : ((Number) loadTime).longValue();
+            return result;
+        }
+    }
+}
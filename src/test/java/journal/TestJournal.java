@@ -0,0 +1,132 @@
+package journal;
+
+import config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Журнал событий одного теста в кольцевом буфере памяти.
+ * Запись события только сохраняет шаблон и аргументы, без форматирования и вывода;
+ * аргументы-{@link Supplier} вычисляются лишь при чтении журнала.
+ * Журнал читается, когда тест упал, для прошедших тестов он просто отбрасывается.
+ * Вне теста, например в бенчмарках, события уходят в переданный логгер на уровне debug.
+ */
+public final class TestJournal {
+    private static final ThreadLocal<TestJournal> current = new ThreadLocal<>();
+
+    private final long[] times;
+    private final String[] sources;
+    private final String[] templates;
+    private final Object[][] arguments;
+    private int next;
+    private long recorded;
+
+    private TestJournal(int capacity) {
+        this.times = new long[capacity];
+        this.sources = new String[capacity];
+        this.templates = new String[capacity];
+        this.arguments = new Object[capacity][];
+    }
+
+    /**
+     * Начинает журнал теста в текущем потоке
+     *
+     * @return журнал теста
+     */
+    public static TestJournal begin() {
+        TestJournal journal = new TestJournal(Math.max(1, AppConfig.JOURNAL_SIZE));
+        current.set(journal);
+        return journal;
+    }
+
+    /**
+     * Возвращает журнал теста текущего потока
+     *
+     * @return журнал или null вне теста
+     */
+    public static TestJournal current() {
+        return current.get();
+    }
+
+    /**
+     * Завершает журнал теста в текущем потоке
+     */
+    public static void end() {
+        current.remove();
+    }
+
+    /**
+     * Записывает событие в журнал теста текущего потока.
+     * Шаблон в формате slf4j, аргумент-{@link Supplier} вычисляется только при чтении журнала
+     *
+     * @param source    логгер источника события, вне теста событие пишется в него на уровне debug
+     * @param template  шаблон сообщения с {}
+     * @param arguments аргументы сообщения
+     */
+    public static void record(Logger source, String template, Object... arguments) {
+        TestJournal journal = current.get();
+        if (journal != null) {
+            journal.add(source.getName(), template, arguments);
+        } else if (source.isDebugEnabled()) {
+            source.debug(template, resolve(arguments));
+        }
+    }
+
+    private void add(String source, String template, Object[] args) {
+        times[next] = System.currentTimeMillis();
+        sources[next] = source;
+        templates[next] = template;
+        arguments[next] = args;
+        next = (next + 1) % templates.length;
+        recorded++;
+    }
+
+    /**
+     * Форматирует события журнала от старых к новым, вычисляя отложенные аргументы
+     *
+     * @return строки журнала, только последние события, если буфер переполнился
+     */
+    public List<String> lines() {
+        int size = (int) Math.min(recorded, templates.length);
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<String> lines = new ArrayList<>(size + 1);
+        if (recorded > size) {
+            lines.add("... пропущено ранних событий: " + (recorded - size));
+        }
+        int start = recorded > size ? next : 0;
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % templates.length;
+            String source = sources[index].substring(sources[index].lastIndexOf('.') + 1);
+            FormattingTuple message = MessageFormatter.arrayFormat(templates[index], resolve(arguments[index]));
+            lines.add(Instant.ofEpochMilli(times[index]) + " " + source + " - " + message.getMessage()
+                    + (message.getThrowable() == null ? "" : ": " + message.getThrowable()));
+        }
+        return lines;
+    }
+
+    private static Object[] resolve(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] resolved = args.clone();
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i] instanceof Supplier) {
+                try {
+                    resolved[i] = ((Supplier<?>) resolved[i]).get();
+                } catch (RuntimeException e) {
+                    resolved[i] = "<не удалось вычислить: " + e.getClass().getSimpleName() + ">";
+                }
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,316 @@
+package load;
+
+import config.AppConfig;
+import data.OrderGenerator;
+import driver.DriverFactory;
+import driver.LaunchProfile;
+import metrics.LatencyHistogram;
+import models.ButtonPositionType;
+import models.Order;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.CookieConsent;
+import pages.MainPage;
+import pages.OrderPage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузочный прогон сценария заказа самоката на page objects из тестов.
+ * Несколько headless-браузеров одновременно оформляют заказы против локальной копии приложения,
+ * пока не истечёт load.duration секунд или не будет оформлено load.iterations заказов.
+ * Для каждого шага сценария считаются перцентили длительности успешных выполнений и, отдельно, упавших,
+ * для прогона - заказов в минуту.
+ * Запуск: mvn -Pload test-compile exec:exec -Dload.args="-Dload.sessions=8 -Dload.duration=120"
+ */
+public final class OrderLoadRunner {
+    private static final Logger log = LoggerFactory.getLogger(OrderLoadRunner.class);
+
+    private static final String REPORT_FILE = "load.json";
+
+    private final int sessions;
+    private final long durationNanos;
+    private final AtomicLong remainingIterations;
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> failedSteps = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stepErrors = new ConcurrentHashMap<>();
+    private final List<String> stepOrder = new ArrayList<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long deadline;
+
+    /**
+     * Конструктор прогона
+     *
+     * @param sessions   число одновременных браузеров
+     * @param duration   длительность прогона в секундах, используется при iterations = 0
+     * @param iterations общее число заказов или 0
+     */
+    public OrderLoadRunner(int sessions, int duration, int iterations) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("Число браузеров должно быть положительным: " + sessions);
+        }
+        this.sessions = sessions;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(duration);
+        this.remainingIterations = iterations > 0 ? new AtomicLong(iterations) : null;
+        for (String step : new String[]{"openMainPage", "MainPage.clickOrderButton", "OrderPage.fillOrderForm",
+                "OrderPage.clickNextButton", "OrderPage.fillOrderForm2", "OrderPage.clickOrderButton",
+                "OrderPage.clickYesButton", "OrderPage.isSuccessMessagePresent"}) {
+            stepOrder.add(step);
+            steps.put(step, new LatencyHistogram());
+            failedSteps.put(step, new LatencyHistogram());
+            stepErrors.put(step, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (!AppConfig.LOCAL_MODE) {
+            throw new IllegalStateException("Нагрузочный прогон выполняется только против локальной копии приложения, "
+                    + "запустите его с -Dapp.mode=local");
+        }
+        OrderLoadRunner runner = new OrderLoadRunner(AppConfig.LOAD_SESSIONS, AppConfig.LOAD_DURATION, AppConfig.LOAD_ITERATIONS);
+        Map<String, Object> report;
+        try {
+            report = runner.run();
+        } catch (RuntimeException e) {
+            // Сервер локальной копии приложения не даст JVM завершиться сам
+            log.error("Нагрузочный прогон не выполнен", e);
+            System.exit(1);
+            return;
+        }
+        runner.writeReport(report);
+        System.exit(runner.completed.sum() > 0 ? 0 : 1);
+    }
+
+    /**
+     * Запускает браузеры, ждёт окончания прогона и собирает отчёт
+     *
+     * @return отчёт прогона
+     */
+    public Map<String, Object> run() {
+        log.info("Нагрузочный прогон: браузеров {}, {}", sessions, remainingIterations == null
+                ? "длительность " + TimeUnit.NANOSECONDS.toSeconds(durationNanos) + " с"
+                : "заказов " + remainingIterations.get());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(sessions,
+                runnable -> new Thread(runnable, "load-session-" + threadNumber.incrementAndGet()));
+        try {
+            List<WebDriver> drivers = launch(executor);
+            long started = System.nanoTime();
+            deadline = started + durationNanos;
+            for (int i = 0; i < drivers.size(); i++) {
+                WebDriver driver = drivers.get(i);
+                long seed = AppConfig.ORDERS_SEED + i;
+                executor.execute(() -> session(driver, new OrderGenerator(seed)));
+            }
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.info("Прогон идёт: оформлено {}, с ошибкой {}", completed.sum(), failed.sum());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long elapsed = System.nanoTime() - started;
+            return report(elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Запускает браузеры параллельно, по одному в каждом потоке прогона.
+     * Если хотя бы один запуск упал, дожидается остальных и закрывает все запущенные браузеры
+     */
+    private List<WebDriver> launch(ExecutorService executor) {
+        List<Future<WebDriver>> launches = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            launches.add(executor.submit(() -> DriverFactory.create(LaunchProfile.FAST_HEADLESS)));
+        }
+        List<WebDriver> drivers = new ArrayList<>();
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<WebDriver> launch : launches) {
+            while (true) {
+                try {
+                    drivers.add(launch.get());
+                    break;
+                } catch (InterruptedException e) {
+                    // Запуск уже идёт, и его браузер нужно дождаться, чтобы закрыть
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new RuntimeException("Не удалось запустить браузер для нагрузочного прогона",
+                                e.getCause());
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (failure == null) {
+                failure = new RuntimeException("Запуск браузеров прерван");
+            }
+        }
+        if (failure != null) {
+            drivers.forEach(OrderLoadRunner::quit);
+            throw failure;
+        }
+        return drivers;
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("Ошибка при закрытии браузера", e);
+        }
+    }
+
+    private void session(WebDriver driver, OrderGenerator orders) {
+        try {
+            while (nextIteration()) {
+                placeOrder(driver, orders.next());
+            }
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private boolean nextIteration() {
+        if (remainingIterations != null) {
+            return remainingIterations.getAndDecrement() > 0;
+        }
+        return System.nanoTime() < deadline;
+    }
+
+    /**
+     * Оформляет один заказ шагами OrderFlowTest, начиная с главной страницы
+     */
+    private void placeOrder(WebDriver driver, Order order) {
+        try {
+            MainPage mainPage = step("openMainPage", () -> {
+                CookieConsent.open(driver, AppConfig.URL);
+                return new MainPage(driver).waitUntilReady();
+            });
+            OrderPage orderPage = step("MainPage.clickOrderButton", () -> mainPage.clickOrderButton(ButtonPositionType.TOP));
+            step("OrderPage.fillOrderForm", () -> orderPage.fillOrderForm(order.getUser()));
+            step("OrderPage.clickNextButton", orderPage::clickNextButton);
+            step("OrderPage.fillOrderForm2", () -> orderPage.fillOrderForm2(order));
+            step("OrderPage.clickOrderButton", orderPage::clickOrderButton);
+            step("OrderPage.clickYesButton", orderPage::clickYesButton);
+            if (step("OrderPage.isSuccessMessagePresent", orderPage::isSuccessMessagePresent)) {
+                completed.increment();
+            } else {
+                failed.increment();
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Заказ не оформлен: {}", e.getMessage());
+            log.debug("Ошибка заказа", e);
+        }
+    }
+
+    private void step(String name, Runnable action) {
+        step(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Выполняет шаг и учитывает его длительность.
+     * Упавшие шаги и проверки, вернувшие false, обычно заканчиваются по таймауту ожидания,
+     * поэтому они идут в отдельную гистограмму и не искажают перцентили успешных шагов
+     */
+    private <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = !Boolean.FALSE.equals(result);
+            return result;
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (success) {
+                steps.get(name).record(micros);
+            } else {
+                stepErrors.get(name).increment();
+                failedSteps.get(name).record(micros);
+            }
+        }
+    }
+
+    private Map<String, Object> report(long elapsedNanos) {
+        double minutes = elapsedNanos / (double) TimeUnit.MINUTES.toNanos(1);
+        double ordersPerMinute = Math.round(completed.sum() / minutes * 10) / 10.0;
+        log.info("Нагрузочный прогон завершён за {} с: оформлено {}, с ошибкой {}, {} заказов в минуту",
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), completed.sum(), failed.sum(), ordersPerMinute);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String name : stepOrder) {
+            LatencyHistogram histogram = steps.get(name);
+            LatencyHistogram failures = failedSteps.get(name);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", name);
+            row.put("count", histogram.getCount());
+            row.put("errors", stepErrors.get(name).sum());
+            row.put("p50Ms", toMillis(histogram.getPercentile(50)));
+            row.put("p95Ms", toMillis(histogram.getPercentile(95)));
+            row.put("p99Ms", toMillis(histogram.getPercentile(99)));
+            row.put("maxMs", toMillis(histogram.getMax()));
+            row.put("errorP50Ms", toMillis(failures.getPercentile(50)));
+            row.put("errorMaxMs", toMillis(failures.getMax()));
+            rows.add(row);
+            log.info("{}: успешных {}, p50 {} мс, p95 {} мс, p99 {} мс, макс {} мс; ошибок {}, p50 ошибок {} мс", name,
+                    row.get("count"), row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"),
+                    row.get("errors"), row.get("errorP50Ms"));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sessions", sessions);
+        report.put("elapsedSeconds", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos));
+        report.put("completed", completed.sum());
+        report.put("failed", failed.sum());
+        report.put("ordersPerMinute", ordersPerMinute);
+        report.put("steps", rows);
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) {
+        Path file = Paths.get(AppConfig.METRICS_DIR, REPORT_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Отчёт нагрузочного прогона записан: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать отчёт нагрузочного прогона: {}", file, e);
+        }
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
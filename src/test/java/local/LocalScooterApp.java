@@ -0,0 +1,227 @@
+package local;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Локальная копия приложения «Самокат», запускаемая внутри процесса тестов.
+ * Отдаёт главную страницу, форму заказа и страницу статуса,
+ * а также имитирует API создания и поиска заказов.
+ * Порт задаётся свойством local.app.port, по умолчанию выбирается свободный.
+ */
+public final class LocalScooterApp {
+    private static final Logger log = LoggerFactory.getLogger(LocalScooterApp.class);
+
+    private static final String RESOURCE_ROOT = "/local-app/";
+    private static final List<String> REQUIRED_ORDER_FIELDS =
+            Arrays.asList("firstName", "lastName", "address", "phone", "rentTime", "deliveryDate");
+
+    private static LocalScooterApp instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final OrderStore orders = new OrderStore();
+    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+    private final Json json = new Json();
+
+    private LocalScooterApp(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-scooter-app");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/api/v1/orders", this::handleOrders);
+        server.createContext("/api/v1/stations/search", this::handleStations);
+        server.createContext("/static/", this::handleStatic);
+        server.createContext("/", this::handlePage);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Локальная копия приложения запущена: {}", getBaseUrl());
+    }
+
+    /**
+     * Возвращает запущенную копию приложения, при первом обращении запускает её
+     *
+     * @return локальная копия приложения
+     */
+    public static synchronized LocalScooterApp getInstance() {
+        if (instance == null) {
+            try {
+                instance = new LocalScooterApp(Integer.getInteger("local.app.port", 0));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось запустить локальную копию приложения", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::stop, "local-scooter-app-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Возвращает адрес главной страницы
+     *
+     * @return адрес вида http://127.0.0.1:порт/
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Возвращает хранилище созданных заказов
+     *
+     * @return хранилище заказов
+     */
+    public OrderStore getOrders() {
+        return orders;
+    }
+
+    /**
+     * Останавливает сервер
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        if ("/favicon.ico".equals(exchange.getRequestURI().getPath())) {
+            // Пустой ответ 200, а не 204: браузер должен открыть документ на домене приложения
+            send(exchange, 200, "image/x-icon", new byte[0]);
+            return;
+        }
+        send(exchange, 200, "text/html; charset=utf-8", resource("index.html"));
+    }
+
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        String name = exchange.getRequestURI().getPath().substring("/static/".length());
+        byte[] body = resource(name);
+        if (body == null) {
+            send(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String contentType = name.endsWith(".js") ? "application/javascript; charset=utf-8" : "text/css; charset=utf-8";
+        exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+        send(exchange, 200, contentType, body);
+    }
+
+    private void handleStations(HttpExchange exchange) throws IOException {
+        sendJson(exchange, 200, MetroStations.search(queryParameter(exchange, "s")));
+    }
+
+    private void handleOrders(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if ("/api/v1/orders".equals(path) && "POST".equals(method)) {
+            createOrder(exchange);
+        } else if ("/api/v1/orders/track".equals(path) && "GET".equals(method)) {
+            findOrder(exchange);
+        } else {
+            sendJson(exchange, 404, error(404, "Not Found."));
+        }
+    }
+
+    private void createOrder(HttpExchange exchange) throws IOException {
+        Map<String, Object> fields;
+        try (InputStream body = exchange.getRequestBody()) {
+            fields = json.toType(new String(body.readAllBytes(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (RuntimeException e) {
+            sendJson(exchange, 400, error(400, "Некорректное тело запроса"));
+            return;
+        }
+        boolean complete = fields != null && REQUIRED_ORDER_FIELDS.stream().allMatch(field -> fields.get(field) != null);
+        if (!complete) {
+            sendJson(exchange, 400, error(400, "Недостаточно данных для создания заказа"));
+            return;
+        }
+        int track = orders.create(fields);
+        log.debug("Создан заказ с трек-номером {}", track);
+        sendJson(exchange, 201, Map.of("track", track));
+    }
+
+    private void findOrder(HttpExchange exchange) throws IOException {
+        String track = queryParameter(exchange, "t");
+        Optional<Map<String, Object>> order;
+        try {
+            order = orders.findByTrack(Integer.parseInt(track));
+        } catch (NumberFormatException e) {
+            sendJson(exchange, 400, error(400, "Недостаточно данных для поиска"));
+            return;
+        }
+        if (order.isPresent()) {
+            sendJson(exchange, 200, Map.of("order", order.get()));
+        } else {
+            sendJson(exchange, 404, error(404, "Заказ не найден"));
+        }
+    }
+
+    private byte[] resource(String name) throws IOException {
+        byte[] cached = resources.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = LocalScooterApp.class.getResourceAsStream(RESOURCE_ROOT + name)) {
+            if (in == null) {
+                return null;
+            }
+            byte[] body = in.readAllBytes();
+            resources.put(name, body);
+            return body;
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            if (key.equals(name)) {
+                return separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> error(int code, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", code);
+        error.put("message", message);
+        return error;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
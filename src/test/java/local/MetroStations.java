@@ -0,0 +1,40 @@
+package local;
+
+import data.MetroStationNames;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Справочник станций метро локальной копии приложения.
+ * Станции и их номера берутся из {@link MetroStationNames}.
+ */
+public final class MetroStations {
+    private MetroStations() {
+    }
+
+    /**
+     * Ищет станции, в названии которых встречается строка
+     *
+     * @param query строка поиска
+     * @return станции в формате ответа API: номер, название, цвет линии
+     */
+    public static List<Map<String, String>> search(String query) {
+        String needle = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<Map<String, String>> found = new ArrayList<>();
+        for (int i = 0; i < MetroStationNames.ALL.size(); i++) {
+            String name = MetroStationNames.ALL.get(i);
+            if (name.toLowerCase(Locale.ROOT).contains(needle)) {
+                Map<String, String> station = new LinkedHashMap<>();
+                station.put("number", String.valueOf(i + 1));
+                station.put("name", name);
+                station.put("color", "#D92B2C");
+                found.add(station);
+            }
+        }
+        return found;
+    }
+}
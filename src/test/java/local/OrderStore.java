@@ -0,0 +1,54 @@
+package local;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Хранилище заказов локальной копии приложения.
+ * Выдаёт трек-номера по порядку, поэтому при одинаковой последовательности
+ * запросов результаты повторяются от запуска к запуску.
+ */
+public class OrderStore {
+    private static final int FIRST_TRACK = 100_000;
+
+    private final AtomicInteger lastTrack = new AtomicInteger(FIRST_TRACK);
+    private final Map<Integer, Map<String, Object>> orders = new ConcurrentHashMap<>();
+
+    /**
+     * Сохраняет заказ и присваивает ему трек-номер
+     *
+     * @param fields поля заказа из тела запроса
+     * @return трек-номер созданного заказа
+     */
+    public int create(Map<String, Object> fields) {
+        int track = lastTrack.incrementAndGet();
+        Map<String, Object> order = new LinkedHashMap<>(fields);
+        order.put("id", track - FIRST_TRACK);
+        order.put("track", track);
+        order.put("status", 0);
+        orders.put(track, Collections.unmodifiableMap(order));
+        return track;
+    }
+
+    /**
+     * Ищет заказ по трек-номеру
+     *
+     * @param track трек-номер
+     * @return заказ, если он найден
+     */
+    public Optional<Map<String, Object>> findByTrack(int track) {
+        return Optional.ofNullable(orders.get(track));
+    }
+
+    /**
+     * Удаляет все заказы и начинает нумерацию заново
+     */
+    public void clear() {
+        orders.clear();
+        lastTrack.set(FIRST_TRACK);
+    }
+}
@@ -0,0 +1,29 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие Java Flight Recorder для одного действия страницы.
+ * Записывается, только если запущена запись JFR, например с ключом -XX:StartFlightRecording.
+ */
+@Name("scooter.PageAction")
+@Label("Действие на странице")
+@Category({"Scooter", "Page Objects"})
+@Description("Длительность действия page object")
+@StackTrace(false)
+class ActionEvent extends Event {
+
+    @Label("Действие")
+    String action;
+
+    @Label("Локатор")
+    String locator;
+
+    @Label("Успешно")
+    boolean success;
+}
@@ -0,0 +1,151 @@
+package metrics;
+
+import config.AppConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Длительности действий страниц по паре «действие, локатор».
+ * В перцентили попадают только успешные действия, неудачные, обычно закончившиеся по таймауту, только считаются.
+ * При завершении JVM пишет перцентили и число неудач по каждой паре в target/metrics/actions.json.
+ */
+public final class ActionMetrics {
+    private static final Logger log = LoggerFactory.getLogger(ActionMetrics.class);
+
+    private static final String REPORT_FILE = "actions.json";
+
+    private static final ActionMetrics instance = new ActionMetrics();
+
+    private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> failures = new ConcurrentHashMap<>();
+
+    private ActionMetrics() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writeReport, "action-metrics-report"));
+    }
+
+    /**
+     * Возвращает общий реестр замеров
+     *
+     * @return реестр замеров
+     */
+    public static ActionMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Начинает замер действия
+     *
+     * @param action  имя действия, например clickOnElement
+     * @param locator локатор или другое описание цели действия, может быть null
+     * @return замер, который нужно закрыть по окончании действия
+     */
+    public static ActionTimer start(String action, Object locator) {
+        return new ActionTimer(instance, action, locator == null ? "" : locator.toString());
+    }
+
+    /**
+     * Возвращает гистограмму длительностей действия
+     *
+     * @param action  имя действия
+     * @param locator описание цели действия
+     * @return гистограмма, пустая, если действие не выполнялось
+     */
+    public LatencyHistogram getHistogram(String action, String locator) {
+        return histogramOf(action, locator);
+    }
+
+    /**
+     * Возвращает число неудачных выполнений действия
+     *
+     * @param action  имя действия
+     * @param locator описание цели действия
+     * @return число неудач
+     */
+    public long getFailures(String action, String locator) {
+        return failuresOf(action, locator).sum();
+    }
+
+    void record(String action, String locator, long micros) {
+        histogramOf(action, locator).record(micros);
+    }
+
+    void recordFailure(String action, String locator) {
+        failuresOf(action, locator).increment();
+        // Пустая гистограмма нужна, чтобы действие без единого успеха попало в отчёт
+        histogramOf(action, locator);
+    }
+
+    private LongAdder failuresOf(String action, String locator) {
+        return failures.computeIfAbsent(action, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(locator, key -> new LongAdder());
+    }
+
+    private LatencyHistogram histogramOf(String action, String locator) {
+        return histograms.computeIfAbsent(action, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(locator, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Собирает отчёт: для каждого действия и локатора число успешных замеров, их перцентили в миллисекундах
+     * и число неудач
+     *
+     * @return строки отчёта, упорядоченные по действию и локатору
+     */
+    public List<Map<String, Object>> report() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new TreeMap<>(histograms).forEach((action, byLocator) ->
+                new TreeMap<>(byLocator).forEach((locator, histogram) -> {
+                    long failed = getFailures(action, locator);
+                    if (histogram.getCount() == 0 && failed == 0) {
+                        return;
+                    }
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("action", action);
+                    row.put("locator", locator);
+                    row.put("count", histogram.getCount());
+                    row.put("failures", failed);
+                    row.put("p50Ms", toMillis(histogram.getPercentile(50)));
+                    row.put("p95Ms", toMillis(histogram.getPercentile(95)));
+                    row.put("p99Ms", toMillis(histogram.getPercentile(99)));
+                    row.put("maxMs", toMillis(histogram.getMax()));
+                    rows.add(row);
+                }));
+        return rows;
+    }
+
+    /**
+     * Пишет отчёт в каталог из свойства metrics.dir
+     */
+    public void writeReport() {
+        List<Map<String, Object>> rows = report();
+        if (rows.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(AppConfig.METRICS_DIR, REPORT_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+            log.info("Отчёт о длительности действий записан: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать отчёт о длительности действий: {}", file, e);
+        }
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
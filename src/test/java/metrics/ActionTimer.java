@@ -0,0 +1,49 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер одного действия страницы.
+ * Открывается через {@link ActionMetrics#start(String, Object)} и закрывается в try-with-resources,
+ * при закрытии записывает событие JFR и добавляет длительность в гистограмму,
+ * если действие отмечено успешным, иначе увеличивает счётчик неудач.
+ */
+public final class ActionTimer implements AutoCloseable {
+    private final ActionMetrics metrics;
+    private final String action;
+    private final String locator;
+    private final ActionEvent event = new ActionEvent();
+    private final long start = System.nanoTime();
+    private boolean success;
+
+    ActionTimer(ActionMetrics metrics, String action, String locator) {
+        this.metrics = metrics;
+        this.action = action;
+        this.locator = locator;
+        event.begin();
+    }
+
+    /**
+     * Отмечает действие как успешное. Действие, закрытое без отметки, считается неудачным.
+     */
+    public void success() {
+        success = true;
+    }
+
+    @Override
+    public void close() {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.locator = locator;
+            event.success = success;
+            event.commit();
+        }
+        if (success) {
+            metrics.record(action, locator, micros);
+        } else {
+            metrics.recordFailure(action, locator);
+        }
+    }
+}
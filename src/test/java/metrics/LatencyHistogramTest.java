@@ -0,0 +1,107 @@
+package metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogramReturnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getPercentile(50)).isZero();
+        assertThat(histogram.getPercentile(99)).isZero();
+    }
+
+    @Test
+    public void testSingleValueIsEveryPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1234);
+
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(histogram.getMax()).isEqualTo(1234);
+        assertThat(histogram.getPercentile(0)).isEqualTo(1234);
+        assertThat(histogram.getPercentile(50)).isEqualTo(1234);
+        assertThat(histogram.getPercentile(100)).isEqualTo(1234);
+    }
+
+    @Test
+    public void testNegativeValueIsRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(histogram.getPercentile(100)).isZero();
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(15);
+        histogram.record(16);
+        histogram.record(17);
+
+        assertThat(histogram.getPercentile(33)).isEqualTo(15);
+        assertThat(histogram.getPercentile(66)).isEqualTo(16);
+        assertThat(histogram.getPercentile(100)).isEqualTo(17);
+    }
+
+    @Test
+    public void testPercentileIsUpperBoundOfBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(32);
+        histogram.record(34);
+
+        assertThat(histogram.getPercentile(50)).isEqualTo(33);
+        assertThat(histogram.getPercentile(100)).isEqualTo(34);
+    }
+
+    @Test
+    public void testBucketBoundariesAtPowerOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1024);
+        histogram.record(1087);
+        histogram.record(1088);
+        histogram.record(5000);
+
+        assertThat(histogram.getPercentile(25)).isEqualTo(1087);
+        assertThat(histogram.getPercentile(50)).isEqualTo(1087);
+        assertThat(histogram.getPercentile(75)).isEqualTo(1151);
+        assertThat(histogram.getPercentile(100)).isEqualTo(5000);
+    }
+
+    @Test
+    public void testP99IsWithinOneSixteenth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.getPercentile(99)).isEqualTo(991).isBetween(990L, 990L + 990 / 16);
+        assertThat(histogram.getMax()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testP99IgnoresSingleOutlier() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(100_000);
+
+        assertThat(histogram.getPercentile(99)).isEqualTo(103);
+        assertThat(histogram.getPercentile(100)).isEqualTo(100_000);
+    }
+
+    @Test
+    public void testPercentileOutOfRangeIsRejected() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThatThrownBy(() -> histogram.getPercentile(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> histogram.getPercentile(100.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,37 @@
+package pages;
+
+/**
+ * Вопрос из раздела «Вопросы о важном» вместе с ответом, прочитанным после раскрытия вопроса
+ */
+public final class AccordionItem {
+    private final ElementSnapshot question;
+    private final ElementSnapshot answer;
+
+    AccordionItem(ElementSnapshot question, ElementSnapshot answer) {
+        this.question = question;
+        this.answer = answer;
+    }
+
+    /**
+     * Возвращает снимок кнопки вопроса до раскрытия
+     *
+     * @return снимок вопроса
+     */
+    public ElementSnapshot getQuestion() {
+        return question;
+    }
+
+    /**
+     * Возвращает снимок панели ответа после раскрытия вопроса
+     *
+     * @return снимок ответа или null, если панель ответа не найдена
+     */
+    public ElementSnapshot getAnswer() {
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return question.getText() + " -> " + (answer == null ? "-" : answer.getText());
+    }
+}
@@ -1,6 +1,9 @@
 package pages;
 
 import config.AppConfig;
+import journal.TestJournal;
+import metrics.ActionMetrics;
+import metrics.ActionTimer;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -8,6 +11,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Базовый класс для всех страниц приложения.
@@ -36,6 +47,11 @@ public class BasePage {
      */
     protected final WebDriverWait wait;
 
+    /**
+     * Ожидание внутри страницы, без опроса по сети
+     */
+    private final DomWaiter waiter;
+
     /**
      * Конструктор базового класса
      *
@@ -44,6 +60,7 @@ public class BasePage {
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(AppConfig.DEFAULT_TIMEOUT));
+        this.waiter = new DomWaiter(driver, Duration.ofSeconds(AppConfig.DEFAULT_TIMEOUT));
     }
 
     /**
@@ -53,24 +70,54 @@ public class BasePage {
      * @return видимый элемент
      */
     public WebElement waitForVisibility(By locator) {
-        try {
-            log.debug("Ожидаю видимость элемента: {}", locator);
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        try (ActionTimer timer = ActionMetrics.start("waitForVisibility", locator)) {
+            TestJournal.record(log, "Ожидаю видимость элемента: {}", locator);
+            WebElement element = AppConfig.OBSERVER_WAITS
+                    ? awaitInPage(WaitCondition.VISIBLE, locator)
+                    : wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            timer.success();
+            return element;
         } catch (TimeoutException e) {
             log.error("Элемент не стал видимым: {}", locator, e);
             throw new RuntimeException("Элемент не стал видимым в течение заданного времени", e);
         }
     }
 
+    /**
+     * Ждёт готовности приложения по одному признаку в DOM.
+     * При стратегии загрузки eager драйвер возвращается сразу после разбора документа,
+     * поэтому страница считается готовой, только когда приложение отрисовало признак
+     *
+     * @param signal локатор элемента, который появляется после отрисовки приложения
+     */
+    protected void waitUntilReady(By signal) {
+        try {
+            TestJournal.record(log, "Ожидаю готовность приложения: {}", signal);
+            if (AppConfig.OBSERVER_WAITS) {
+                awaitInPage(WaitCondition.VISIBLE, signal);
+            } else {
+                wait.until(ExpectedConditions.visibilityOfElementLocated(signal));
+            }
+        } catch (TimeoutException e) {
+            log.error("Приложение не отрисовалось: {}", signal, e);
+            throw new RuntimeException("Приложение не отрисовалось в течение заданного времени", e);
+        }
+    }
+
     /**
      * Ожидает пока элемент станет кликабельным
      *
      * @param locator локатор элемента
      */
     public void waitForClickability(By locator) {
-        try {
-            log.debug("Ожидаю пока по элементу можно будет кликнуть: {}", locator);
-            wait.until(ExpectedConditions.elementToBeClickable(locator));
+        try (ActionTimer timer = ActionMetrics.start("waitForClickability", locator)) {
+            TestJournal.record(log, "Ожидаю пока по элементу можно будет кликнуть: {}", locator);
+            if (AppConfig.OBSERVER_WAITS) {
+                awaitInPage(WaitCondition.CLICKABLE, locator);
+            } else {
+                wait.until(ExpectedConditions.elementToBeClickable(locator));
+            }
+            timer.success();
         } catch (TimeoutException e) {
             log.error("Элемент не стал кликабельным в течение заданного времени", e);
             throw new RuntimeException("Элемент не стал кликабельным в течение заданного времени", e);
@@ -83,15 +130,131 @@ public class BasePage {
      * @param locator локатор элемента
      */
     public void waitForPresence(By locator) {
-        try {
-            log.debug("Ожидаю появления в дереве DOM элемента: {}", locator);
-            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        try (ActionTimer timer = ActionMetrics.start("waitForPresence", locator)) {
+            TestJournal.record(log, "Ожидаю появления в дереве DOM элемента: {}", locator);
+            if (AppConfig.OBSERVER_WAITS) {
+                awaitInPage(WaitCondition.PRESENT, locator);
+            } else {
+                wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            }
+            timer.success();
         } catch (TimeoutException e) {
-            log.debug("Элемент не появился в DOM в течение заданного времени", e);
+            TestJournal.record(log, "Элемент не появился в DOM в течение заданного времени", e);
             throw new RuntimeException("Элемент не появился в DOM в течение заданного времени", e);
         }
     }
 
+    /**
+     * Читает текст, видимость и атрибуты всех элементов по локатору за один вызов скрипта
+     *
+     * @param locator локатор элементов
+     * @return снимки найденных элементов в порядке их следования на странице
+     */
+    @SuppressWarnings("unchecked")
+    public List<ElementSnapshot> readElements(By locator) {
+        TestJournal.record(log, "Читаю элементы одним скриптом: {}", locator);
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver)
+                .executeScript(PageScripts.READ_ELEMENTS, PageScripts.locatorArguments(locator));
+        List<ElementSnapshot> snapshots = new ArrayList<>(result.size());
+        for (Object item : result) {
+            snapshots.add(toSnapshot((Map<String, Object>) item));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Собирает снимок элемента из результата скрипта
+     *
+     * @param raw объект, который вернула функция snapshot из {@link PageScripts#DOM_HELPERS}
+     * @return снимок элемента
+     */
+    @SuppressWarnings("unchecked")
+    static ElementSnapshot toSnapshot(Map<String, Object> raw) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        ((Map<String, Object>) raw.get("attributes")).forEach((name, value) -> attributes.put(name, String.valueOf(value)));
+        return new ElementSnapshot(
+                (WebElement) raw.get("element"),
+                (String) raw.get("text"),
+                Boolean.TRUE.equals(raw.get("displayed")),
+                attributes);
+    }
+
+    /**
+     * Заполняет несколько полей ввода одним скриптом и проверяет результат одним чтением.
+     * Поля, значение которых приложение не приняло, возвращаются вызывающему,
+     * чтобы он заполнил их обычным вводом с клавиатуры.
+     *
+     * @param values значения полей по их локаторам
+     * @return локаторы полей, значение которых не совпало с ожидаемым
+     */
+    @SuppressWarnings("unchecked")
+    public Set<By> fillInputs(Map<By, String> values) {
+        TestJournal.record(log, "Заполняю поля одним скриптом: {}", values.keySet());
+        List<List<Object>> fields = new ArrayList<>(values.size());
+        List<List<Object>> locators = new ArrayList<>(values.size());
+        values.forEach((locator, text) -> {
+            Object[] arguments = PageScripts.locatorArguments(locator);
+            fields.add(Arrays.asList(arguments[0], arguments[1], text));
+            locators.add(Arrays.asList(arguments));
+        });
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        executor.executeScript(PageScripts.SET_VALUES, fields);
+        List<Object> actual = (List<Object>) executor.executeScript(PageScripts.READ_VALUES, locators);
+
+        Set<By> rejected = new LinkedHashSet<>();
+        int index = 0;
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            if (!Objects.equals(entry.getValue(), actual.get(index++))) {
+                rejected.add(entry.getKey());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            TestJournal.record(log, "Приложение не приняло значения полей: {}", rejected);
+        }
+        return rejected;
+    }
+
+    /**
+     * Очищает поле и вводит текст с клавиатуры
+     *
+     * @param locator локатор поля ввода
+     * @param text    текст
+     */
+    public void typeText(By locator, String text) {
+        WebElement input = waitForVisibility(locator);
+        input.clear();
+        input.sendKeys(text);
+    }
+
+    /**
+     * Одним ожиданием внутри страницы ждёт, пока элемент появится, станет видимым,
+     * доступным и не перекрытым другими элементами
+     *
+     * @param locator локатор элемента
+     * @return элемент, готовый к клику
+     */
+    private WebElement waitUntilClickable(By locator) {
+        try {
+            TestJournal.record(log, "Ожидаю готовность элемента к клику: {}", locator);
+            return awaitInPage(WaitCondition.CLICKABLE, locator);
+        } catch (TimeoutException e) {
+            log.error("Элемент не стал кликабельным в течение заданного времени", e);
+            throw new RuntimeException("Элемент не стал кликабельным в течение заданного времени", e);
+        }
+    }
+
+    /**
+     * Ждёт условия для элемента внутри страницы.
+     * Элемент ищется по локатору тем же скриптом ожидания, одним обращением к браузеру
+     *
+     * @param condition условие ожидания
+     * @param locator   локатор элемента
+     * @return элемент, для которого выполнилось условие
+     */
+    private WebElement awaitInPage(WaitCondition condition, By locator) {
+        return (WebElement) waiter.await(condition, locator);
+    }
+
     /**
      * Прокручивает страницу до элемента
      *
@@ -112,11 +275,22 @@ public class BasePage {
      * @param scrollable флаг прокрутки
      */
     public void clickOnElement(By locator, boolean scrollable) {
-        waitForPresence(locator);
-        waitForVisibility(locator);
-        waitForClickability(locator);
-        WebElement element = waitForVisibility(locator);
-        clickOnElement(element, scrollable);
+        try (ActionTimer timer = ActionMetrics.start("clickOnElement", locator)) {
+            if (AppConfig.OBSERVER_WAITS) {
+                try {
+                    clickOnElement(waitUntilClickable(locator), scrollable);
+                } catch (StaleElementReferenceException e) {
+                    clickOnElement(waitUntilClickable(locator), scrollable);
+                }
+            } else {
+                waitForPresence(locator);
+                waitForVisibility(locator);
+                waitForClickability(locator);
+                WebElement element = waitForVisibility(locator);
+                clickOnElement(element, scrollable);
+            }
+            timer.success();
+        }
     }
 
     /**
@@ -126,7 +300,7 @@ public class BasePage {
      * @param scrollable флаг прокрутки
      */
     public void clickOnElement(WebElement webElement, boolean scrollable) {
-        log.debug("Попытка кликнуть по элементу: {}", webElement);
+        TestJournal.record(log, "Попытка кликнуть по элементу: {}", webElement);
         if (scrollable) {
             scrollToElement(webElement);
         }
@@ -139,7 +313,12 @@ public class BasePage {
      * @param webElement элемент
      */
     public void waitLoadAfterClick(WebElement webElement) {
-        log.debug("Ожидание загрузки контента элемента: {}", webElement);
+        TestJournal.record(log, "Ожидание загрузки контента элемента: {}", webElement);
+
+        if (AppConfig.OBSERVER_WAITS) {
+            waiter.await(WaitCondition.TEXT_LOADED, webElement);
+            return;
+        }
 
         // Ждём, пока текст появится
         wait.until(ExpectedConditions.attributeToBeNotEmpty(webElement, "textContent"));
@@ -155,17 +334,30 @@ public class BasePage {
      * Ожидает исчезновения баннера с куками
      */
     public void waitForCookieBannerDisappearance() {
+        if (AppConfig.OBSERVER_WAITS) {
+            waiter.await(WaitCondition.HIDDEN, cookieSection);
+            return;
+        }
         wait.until(ExpectedConditions.invisibilityOfElementLocated(cookieSection));
     }
 
+    /**
+     * Проверяет, показан ли баннер с куками сейчас, не дожидаясь его появления
+     *
+     * @return true, если баннер есть на странице и отображается
+     */
+    public boolean isCookieBannerDisplayed() {
+        return driver.findElements(cookieSection).stream().anyMatch(WebElement::isDisplayed);
+    }
+
     /**
      * Принимает куки
      */
     public void acceptCookie() {
         if (waitForVisibility(cookieSection).isDisplayed()) {
-            log.info("Найден баннер с куками");
+            TestJournal.record(log, "Найден баннер с куками");
             clickOnElement(cookieButton, false);
-            log.info("Куки приняты");
+            TestJournal.record(log, "Куки приняты");
         }
     }
 
@@ -177,6 +369,9 @@ public class BasePage {
      */
     public boolean isElementPresent(By by) {
         try {
+            if (AppConfig.OBSERVER_WAITS) {
+                return awaitInPage(WaitCondition.VISIBLE, by) != null;
+            }
             WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(by));
             return element != null && element.isDisplayed();
         } catch (TimeoutException e) {
@@ -185,5 +380,43 @@ public class BasePage {
         }
     }
 
+    /**
+     * Проверяет наличие сразу нескольких элементов под одним общим таймаутом.
+     * Отсутствие нескольких элементов стоит одного таймаута, а не таймаута на каждый элемент.
+     *
+     * @param locators локаторы элементов по именам
+     * @return признак отображения по каждому имени, в порядке исходной карты
+     */
+    public Map<String, Boolean> arePresent(Map<String, By> locators) {
+        Map<String, Boolean> result;
+        if (AppConfig.OBSERVER_WAITS) {
+            result = waiter.awaitAll(WaitCondition.VISIBLE, locators);
+        } else {
+            try {
+                wait.until(d -> !readPresence(locators).containsValue(false));
+            } catch (TimeoutException e) {
+                TestJournal.record(log, "Не все элементы отобразились за отведённое время", e);
+            }
+            result = readPresence(locators);
+        }
+        TestJournal.record(log, "Наличие элементов: {}", result);
+        return result;
+    }
+
+    private Map<String, Boolean> readPresence(Map<String, By> locators) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        locators.forEach((name, locator) -> result.put(name,
+                driver.findElements(locator).stream().anyMatch(this::isDisplayedSafely)));
+        return result;
+    }
+
+    private boolean isDisplayedSafely(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
 
 }
\ No newline at end of file
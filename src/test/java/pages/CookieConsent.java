@@ -0,0 +1,170 @@
+package pages;
+
+import driver.CommandCounter;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnableToSetCookieException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Согласие с куками, которое приложение сохраняет после клика по баннеру.
+ * Один раз на JVM выясняет, какие куки и ключи localStorage появляются после согласия,
+ * а затем выставляет их до загрузки страницы, чтобы баннер не появлялся вовсе.
+ */
+public final class CookieConsent {
+    private static final Logger log = LoggerFactory.getLogger(CookieConsent.class);
+
+    private static final String READ_STORAGE =
+            "var values = {};" +
+            "for (var i = 0; i < window.localStorage.length; i++) {" +
+            "  var key = window.localStorage.key(i);" +
+            "  values[key] = window.localStorage.getItem(key);" +
+            "}" +
+            "return values;";
+
+    private static final String WRITE_STORAGE =
+            "var values = arguments[0];" +
+            "Object.keys(values).forEach(function (key) {" +
+            "  window.localStorage.setItem(key, values[key]);" +
+            "});";
+
+    private static volatile CookieConsent learned;
+
+    private final List<Cookie> cookies;
+    private final Map<String, String> storage;
+
+    private CookieConsent(List<Cookie> cookies, Map<String, String> storage) {
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.storage = Collections.unmodifiableMap(storage);
+    }
+
+    /**
+     * Открывает страницу с уже принятыми куками.
+     * При первом вызове открывает страницу, принимает куки через баннер и запоминает, что изменилось.
+     * При следующих вызовах выставляет запомненное до загрузки страницы.
+     *
+     * @param driver драйвер браузера
+     * @param url    адрес страницы
+     */
+    public static void open(WebDriver driver, String url) {
+        CookieConsent consent = learned;
+        if (consent == null) {
+            synchronized (CookieConsent.class) {
+                consent = learned;
+                if (consent == null) {
+                    driver.get(url);
+                    learned = CommandCounter.excluded("consentLearning", () -> learn(driver));
+                    return;
+                }
+            }
+        }
+        if (consent.isEmpty()) {
+            driver.get(url);
+            accept(driver);
+            return;
+        }
+        consent.apply(driver, url);
+        driver.get(url);
+    }
+
+    /**
+     * Принимает куки через баннер и сравнивает куки и localStorage до и после
+     */
+    private static CookieConsent learn(WebDriver driver) {
+        Map<String, Cookie> cookiesBefore = cookiesByName(driver);
+        Map<String, String> storageBefore = readStorage(driver);
+        accept(driver);
+
+        List<Cookie> addedCookies = new ArrayList<>();
+        cookiesByName(driver).forEach((name, cookie) -> {
+            Cookie before = cookiesBefore.get(name);
+            if (before == null || !Objects.equals(before.getValue(), cookie.getValue())) {
+                addedCookies.add(cookie);
+            }
+        });
+        Map<String, String> addedStorage = new LinkedHashMap<>();
+        readStorage(driver).forEach((key, value) -> {
+            if (!Objects.equals(storageBefore.get(key), value)) {
+                addedStorage.put(key, value);
+            }
+        });
+
+        CookieConsent consent = new CookieConsent(addedCookies, addedStorage);
+        if (consent.isEmpty()) {
+            log.warn("После согласия с куками приложение ничего не сохранило, баннер будет закрываться кликом");
+        } else {
+            log.info("Согласие с куками запомнено: куки {}, localStorage {}", consent.cookieNames(), addedStorage.keySet());
+        }
+        return consent;
+    }
+
+    private static void accept(WebDriver driver) {
+        BasePage page = new BasePage(driver);
+        page.acceptCookie();
+        page.waitForCookieBannerDisappearance();
+    }
+
+    /**
+     * Выставляет куки и localStorage. Браузер должен находиться на домене приложения,
+     * как его оставляет пул. Если браузер не может выставить куки на текущей странице,
+     * сначала открывается сама страница приложения.
+     */
+    private void apply(WebDriver driver, String url) {
+        try {
+            addCookies(driver);
+        } catch (InvalidCookieDomainException | UnableToSetCookieException e) {
+            log.debug("На текущей странице куки не выставить, открываю {}", url);
+            driver.get(url);
+            addCookies(driver);
+        }
+        if (!storage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, storage);
+        }
+    }
+
+    private void addCookies(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .path(cookie.getPath())
+                    .expiresOn(cookie.getExpiry())
+                    .isSecure(cookie.isSecure())
+                    .isHttpOnly(cookie.isHttpOnly())
+                    .sameSite(cookie.getSameSite())
+                    .build());
+        }
+    }
+
+    private boolean isEmpty() {
+        return cookies.isEmpty() && storage.isEmpty();
+    }
+
+    private List<String> cookieNames() {
+        List<String> names = new ArrayList<>();
+        cookies.forEach(cookie -> names.add(cookie.getName()));
+        return names;
+    }
+
+    private static Map<String, Cookie> cookiesByName(WebDriver driver) {
+        Map<String, Cookie> byName = new LinkedHashMap<>();
+        driver.manage().getCookies().forEach(cookie -> byName.put(cookie.getName(), cookie));
+        return byName;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(WebDriver driver) {
+        Map<String, String> values = new LinkedHashMap<>();
+        ((Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE))
+                .forEach((key, value) -> values.put(key, String.valueOf(value)));
+        return values;
+    }
+}
@@ -0,0 +1,271 @@
+package pages;
+
+import config.AppConfig;
+import driver.CommandCounter;
+import journal.TestJournal;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Движок ожиданий на стороне страницы.
+ * Вместо опроса по сети каждые 500 мс блокируется на одном асинхронном скрипте, пока условие не выполнится.
+ * Ожидание гибридное: условие перепроверяется по MutationObserver, по прокрутке, изменению размера окна
+ * и окончанию CSS-переходов и анимаций, а также по таймеру каждые 100 мс внутри страницы.
+ * Таймер ловит то, о чём страница событий не присылает, например смену видимости элемента
+ * из-за раскладки соседей; он не обращается к драйверу и трафика не создаёт.
+ */
+final class DomWaiter {
+    private static final Logger log = LoggerFactory.getLogger(DomWaiter.class);
+
+    /**
+     * Запас таймаута скриптов драйвера сверх одного шага ожидания
+     */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 5_000;
+
+    /**
+     * Максимальная длительность одного асинхронного скрипта.
+     * Меньше таймаута скриптов, выставленного браузеру при запуске,
+     * более долгие ожидания выполняются несколькими скриптами подряд.
+     */
+    private static final long MAX_SCRIPT_WAIT_MILLIS =
+            TimeUnit.SECONDS.toMillis(AppConfig.SCRIPT_TIMEOUT) - SCRIPT_TIMEOUT_MARGIN_MILLIS;
+
+    /**
+     * Проверка условий ожидания для найденного элемента.
+     * Возвращает элемент, true для условия hidden или null, если условие не выполнено.
+     */
+    private static final String CONDITIONS =
+            PageScripts.DOM_HELPERS +
+            "function isEnabled(element) {" +
+            "  return !element.disabled && element.getAttribute('aria-disabled') !== 'true';" +
+            "}" +
+            "function isUncovered(element) {" +
+            "  var rect = element.getBoundingClientRect();" +
+            "  var x = rect.left + rect.width / 2, y = rect.top + rect.height / 2;" +
+            "  if (x < 0 || y < 0 || x >= window.innerWidth || y >= window.innerHeight) {" +
+            "    return true;" +
+            "  }" +
+            "  var top = document.elementFromPoint(x, y);" +
+            "  return !top || top === document.body || top === document.documentElement" +
+            "      || top === element || element.contains(top);" +
+            "}" +
+            "function satisfies(condition, element) {" +
+            "  switch (condition) {" +
+            "    case 'present': return element || null;" +
+            "    case 'visible': return element && isVisible(element) ? element : null;" +
+            "    case 'clickable': return element && isVisible(element) && isEnabled(element) && isUncovered(element) ? element : null;" +
+            "    case 'hidden': return !element || !isVisible(element) ? true : null;" +
+            "    case 'text': return element && isVisible(element) && element.innerText.trim() ? element : null;" +
+            "  }" +
+            "  throw new Error('Unknown wait condition: ' + condition);" +
+            "}" +
+            "function observe(timeout, check, done) {" +
+            "  var result = check();" +
+            "  if (result !== null) {" +
+            "    done(result);" +
+            "    return;" +
+            "  }" +
+            "  var finished = false;" +
+            "  var observer = new MutationObserver(recheck);" +
+            "  var safety = setInterval(recheck, 100);" +
+            "  var deadline = setTimeout(function () { finish(null); }, timeout);" +
+            "  var events = ['scroll', 'resize', 'transitionend', 'animationend'];" +
+            "  events.forEach(function (type) { window.addEventListener(type, recheck, true); });" +
+            "  function finish(outcome) {" +
+            "    if (finished) {" +
+            "      return;" +
+            "    }" +
+            "    finished = true;" +
+            "    observer.disconnect();" +
+            "    events.forEach(function (type) { window.removeEventListener(type, recheck, true); });" +
+            "    clearInterval(safety);" +
+            "    clearTimeout(deadline);" +
+            "    done(outcome);" +
+            "  }" +
+            "  function recheck() {" +
+            "    var outcome = finished ? null : check();" +
+            "    if (outcome !== null) {" +
+            "      finish(outcome);" +
+            "    }" +
+            "  }" +
+            "  observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "}";
+
+    /**
+     * Аргументы: условие, таймаут в мс, затем либо стратегия и значение локатора, либо сам элемент.
+     * Возвращает элемент, true для условия hidden или null по таймауту.
+     */
+    private static final String AWAIT_SCRIPT =
+            CONDITIONS +
+            "var condition = arguments[0], timeout = arguments[1];" +
+            "var byLocator = typeof arguments[2] === 'string';" +
+            "var using = arguments[2], value = arguments[3], target = byLocator ? null : arguments[2];" +
+            "observe(timeout, function () {" +
+            "  return satisfies(condition, byLocator ? findAll(using, value)[0] : target);" +
+            "}, arguments[arguments.length - 1]);";
+
+    /**
+     * Ждёт выполнения условия сразу для нескольких локаторов с общим таймаутом.
+     * Аргументы: условие, таймаут в мс, массив троек «имя, стратегия, значение локатора».
+     * Возвращает объект {complete, found}, где found - признак выполнения условия по каждому имени.
+     */
+    private static final String AWAIT_ALL_SCRIPT =
+            CONDITIONS +
+            "var condition = arguments[0], timeout = arguments[1], fields = arguments[2];" +
+            "var done = arguments[arguments.length - 1];" +
+            "function collect() {" +
+            "  var found = {}, complete = true;" +
+            "  fields.forEach(function (field) {" +
+            "    found[field[0]] = satisfies(condition, findAll(field[1], field[2])[0]) !== null;" +
+            "    complete = complete && found[field[0]];" +
+            "  });" +
+            "  return {complete: complete, found: found};" +
+            "}" +
+            "observe(timeout, function () {" +
+            "  var state = collect();" +
+            "  return state.complete ? state : null;" +
+            "}, function (outcome) {" +
+            "  done(outcome || collect());" +
+            "});";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    DomWaiter(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Ждёт выполнения условия для элемента по локатору
+     *
+     * @param condition условие ожидания
+     * @param locator   локатор элемента
+     * @return найденный элемент или Boolean.TRUE для условия {@link WaitCondition#HIDDEN}
+     * @throws TimeoutException если условие не выполнилось за отведённое время
+     */
+    Object await(WaitCondition condition, By locator) {
+        Object[] arguments = PageScripts.locatorArguments(locator);
+        return await(condition, locator.toString(), arguments);
+    }
+
+    /**
+     * Ждёт выполнения условия для уже найденного элемента
+     *
+     * @param condition условие ожидания
+     * @param element   элемент
+     * @return элемент или Boolean.TRUE для условия {@link WaitCondition#HIDDEN}
+     * @throws TimeoutException если условие не выполнилось за отведённое время
+     */
+    Object await(WaitCondition condition, WebElement element) {
+        try {
+            return await(condition, element.toString(), element);
+        } catch (StaleElementReferenceException e) {
+            if (condition == WaitCondition.HIDDEN) {
+                return Boolean.TRUE;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Ждёт выполнения условия сразу для всех локаторов под одним общим таймаутом.
+     * Условия проверяются в странице одновременно, поэтому время ожидания
+     * не растёт с числом отсутствующих элементов.
+     *
+     * @param condition условие ожидания
+     * @param locators  локаторы по именам
+     * @return признак выполнения условия по каждому имени, в порядке исходной карты
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Boolean> awaitAll(WaitCondition condition, Map<String, By> locators) {
+        List<List<Object>> fields = new ArrayList<>();
+        locators.forEach((name, locator) -> {
+            Object[] arguments = PageScripts.locatorArguments(locator);
+            fields.add(Arrays.asList(name, arguments[0], arguments[1]));
+        });
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, Object> found = Collections.emptyMap();
+        boolean repeat = false;
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                long slice = Math.min(remaining, MAX_SCRIPT_WAIT_MILLIS);
+                Map<String, Object> state = (Map<String, Object>) execute(repeat,
+                        () -> executor.executeAsyncScript(AWAIT_ALL_SCRIPT, condition.getScriptName(), slice, fields));
+                repeat = true;
+                found = (Map<String, Object>) state.get("found");
+                if (Boolean.TRUE.equals(state.get("complete"))) {
+                    break;
+                }
+            } catch (JavascriptException e) {
+                // Страница перезагрузилась во время ожидания, продолжаем ждать на новой
+                TestJournal.record(log, "Скрипт ожидания прерван, повторяю: {}", e.getMessage());
+                repeat = true;
+            }
+        }
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String name : locators.keySet()) {
+            result.put(name, Boolean.TRUE.equals(found.get(name)));
+        }
+        return result;
+    }
+
+    private Object await(WaitCondition condition, String description, Object... target) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        JavascriptException lastError = null;
+        boolean repeat = false;
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                throw new TimeoutException("Условие " + condition + " не выполнилось за " + timeout.getSeconds()
+                        + " с для " + description, lastError);
+            }
+            try {
+                Object[] arguments = new Object[target.length + 2];
+                arguments[0] = condition.getScriptName();
+                arguments[1] = Math.min(remaining, MAX_SCRIPT_WAIT_MILLIS);
+                System.arraycopy(target, 0, arguments, 2, target.length);
+                Object result = execute(repeat, () -> executor.executeAsyncScript(AWAIT_SCRIPT, arguments));
+                if (result != null) {
+                    return result;
+                }
+            } catch (JavascriptException e) {
+                // Страница перезагрузилась во время ожидания, продолжаем ждать на новой
+                TestJournal.record(log, "Скрипт ожидания прерван, повторяю: {}", e.getMessage());
+                lastError = e;
+            }
+            repeat = true;
+        }
+    }
+
+    /**
+     * Выполняет шаг ожидания. Продолжения долгого ожидания и повторы после перезагрузки страницы
+     * не входят в бюджет команд теста: их число зависит от скорости страницы, а не от теста
+     */
+    private static Object execute(boolean repeat, Supplier<Object> script) {
+        return repeat ? CommandCounter.excluded("waitRepeat", script) : script.get();
+    }
+}
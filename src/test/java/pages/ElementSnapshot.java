@@ -0,0 +1,86 @@
+package pages;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Снимок состояния элемента, прочитанный из браузера одним скриптом.
+ * Хранит ссылку на сам элемент, поэтому по нему можно кликать и читать его повторно.
+ */
+public class ElementSnapshot {
+    private final WebElement element;
+    private final String text;
+    private final boolean displayed;
+    private final Map<String, String> attributes;
+
+    /**
+     * Конструктор снимка
+     *
+     * @param element    ссылка на элемент
+     * @param text       видимый текст элемента
+     * @param displayed  признак видимости
+     * @param attributes атрибуты элемента
+     */
+    public ElementSnapshot(WebElement element, String text, boolean displayed, Map<String, String> attributes) {
+        this.element = element;
+        this.text = text;
+        this.displayed = displayed;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * Возвращает ссылку на элемент
+     *
+     * @return элемент страницы
+     */
+    public WebElement getElement() {
+        return element;
+    }
+
+    /**
+     * Возвращает видимый текст элемента на момент снимка
+     *
+     * @return текст, пустая строка для невидимого элемента
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Возвращает признак видимости элемента на момент снимка
+     *
+     * @return true, если элемент отображался
+     */
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    /**
+     * Возвращает значение атрибута на момент снимка
+     *
+     * @param name имя атрибута
+     * @return значение атрибута или null
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * Возвращает все атрибуты элемента
+     *
+     * @return атрибуты элемента
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{" +
+                "text='" + text + '\'' +
+                ", displayed=" + displayed +
+                '}';
+    }
+}
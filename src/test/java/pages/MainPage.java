@@ -1,14 +1,22 @@
 package pages;
 
+import config.AppConfig;
+import journal.TestJournal;
+import metrics.ActionMetrics;
+import metrics.ActionTimer;
 import models.ButtonPositionType;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Главная страница приложения
@@ -30,6 +38,11 @@ public class MainPage extends BasePage {
      */
     private final By answerElements = By.cssSelector("[data-accordion-component='AccordionItemPanel']");
 
+    /**
+     * Признак готовности страницы: приложение смонтировано в #root и список вопросов отрисован
+     */
+    private final By readySignal = By.cssSelector("#root [data-accordion-component='AccordionItemButton']");
+
     /**
      * Кнопка заказа в верхней части страницы
      */
@@ -40,6 +53,21 @@ public class MainPage extends BasePage {
      */
     private final By bottomOrderButton = By.xpath("//div[contains(@class, 'Home_FinishButton')]//button[contains(@class, 'Button_Button') and normalize-space(text()) = 'Заказать']");
 
+    /**
+     * Кнопка «Статус заказа» в шапке страницы
+     */
+    private final By orderStatusButton = By.xpath("//div[contains(@class, 'Header_Nav')]//button[normalize-space(text()) = 'Статус заказа']");
+
+    /**
+     * Поле ввода номера заказа в шапке страницы
+     */
+    private final By trackInput = By.cssSelector("input[placeholder='Введите номер заказа']");
+
+    /**
+     * Кнопка поиска заказа в шапке страницы
+     */
+    private final By trackSearchButton = By.xpath("//div[contains(@class, 'Header_SearchInput')]//button[normalize-space(text()) = 'Go!']");
+
     /**
      * Конструктор страницы
      *
@@ -50,54 +78,118 @@ public class MainPage extends BasePage {
         PageFactory.initElements(driver, this);
     }
 
-    public List<WebElement> getAllQuestions() {
+    /**
+     * Ждёт, пока приложение смонтируется и отрисует список вопросов
+     *
+     * @return эта же страница
+     */
+    public MainPage waitUntilReady() {
+        waitUntilReady(readySignal);
+        return this;
+    }
+
+    /**
+     * Переходит к вопросам и читает их все одним скриптом
+     *
+     * @return снимки всех вопросов
+     */
+    public List<ElementSnapshot> getAllQuestions() {
         WebElement container = waitForVisibility(rootContainer);
         scrollToElement(container);
-        return driver.findElements(questionElements);
+        return readElements(questionElements);
     }
 
     /**
-     * Переходит к вопросам и получает из них список
+     * Переходит к вопросам и ищет вопрос по тексту
      *
-     * @return список вопросов
+     * @param text текст вопроса
+     * @return снимок вопроса или null, если вопрос не найден
      */
-    public WebElement getQuestion(String text) {
-        log.debug("Получаю вопрос");
+    public ElementSnapshot getQuestion(String text) {
+        TestJournal.record(log, "Получаю вопрос");
         WebElement container = waitForVisibility(rootContainer);
         scrollToElement(container);
-        List<WebElement> questions = driver.findElements(questionElements);
-        return questions.stream().filter(element -> element.getText().contains(text)).findFirst().orElse(null);
+        return findByText(readElements(questionElements), text);
     }
 
     /**
-     * Получает список всех ответов
+     * Ищет ответ по тексту среди всех ответов
      *
-     * @return список ответов
+     * @param text текст ответа
+     * @return снимок ответа или null, если ответ не найден
      */
-    public WebElement getAnswer(String text) {
-        log.debug("Получаю ответ");
+    public ElementSnapshot getAnswer(String text) {
+        TestJournal.record(log, "Получаю ответ");
         WebElement container = waitForVisibility(rootContainer);
         scrollToElement(container);
-        List<WebElement> answers = driver.findElements(answerElements);
-        return answers.stream().filter(element -> element.getText().contains(text)).findFirst().orElse(null);
+        return findByText(readElements(answerElements), text);
     }
 
     /**
      * Открывает указанный вопрос
      *
-     * @param webElement элемент вопроса
+     * @param question снимок вопроса
      */
-    public void openQuestion(WebElement webElement) {
-        if (webElement == null) {
+    public void openQuestion(ElementSnapshot question) {
+        if (question == null) {
             throw new IllegalArgumentException("Элемент вопроса не должен быть null");
         }
-        log.debug("Открываю вопрос: {}", webElement.getText());
-        clickOnElement(webElement, true);
-        waitLoadAfterClick(webElement);
+        TestJournal.record(log, "Открываю вопрос: {}", question.getText());
+        try (ActionTimer timer = ActionMetrics.start("openQuestion", question.getText())) {
+            clickOnElement(question.getElement(), true);
+            waitLoadAfterClick(question.getElement());
+            timer.success();
+        }
+    }
+
+    /**
+     * Раскрывает все вопросы по очереди одним асинхронным скриптом
+     * и читает каждый вопрос вместе с его ответом сразу после раскрытия
+     *
+     * @return вопросы с ответами в порядке следования на странице
+     */
+    @SuppressWarnings("unchecked")
+    public List<AccordionItem> expandAllQuestions() {
+        TestJournal.record(log, "Раскрываю все вопросы одним скриптом");
+        try (ActionTimer timer = ActionMetrics.start("expandAllQuestions", questionElements)) {
+            WebElement container = waitForVisibility(rootContainer);
+            scrollToElement(container);
+            Object[] locator = PageScripts.locatorArguments(questionElements);
+            List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                    PageScripts.EXPAND_ACCORDION, locator[0], locator[1],
+                    TimeUnit.SECONDS.toMillis(AppConfig.DEFAULT_TIMEOUT));
+            List<AccordionItem> items = new ArrayList<>(result.size());
+            for (Object item : result) {
+                Map<String, Object> raw = (Map<String, Object>) item;
+                Map<String, Object> answer = (Map<String, Object>) raw.get("answer");
+                items.add(new AccordionItem(toSnapshot((Map<String, Object>) raw.get("question")),
+                        answer == null ? null : toSnapshot(answer)));
+            }
+            timer.success();
+            return items;
+        }
+    }
+
+    /**
+     * Ищет заказ по трек-номеру через поле поиска в шапке страницы
+     *
+     * @param track трек-номер заказа
+     * @return страница статуса с загруженным результатом поиска
+     */
+    public TrackPage searchOrder(int track) {
+        TestJournal.record(log, "Ищу заказ по трек-номеру {}", track);
+        clickOnElement(orderStatusButton, false);
+        typeText(trackInput, String.valueOf(track));
+        clickOnElement(trackSearchButton, false);
+        return new TrackPage(driver).waitUntilReady();
+    }
+
+    private static ElementSnapshot findByText(List<ElementSnapshot> snapshots, String text) {
+        return snapshots.stream().filter(snapshot -> snapshot.getText().contains(text)).findFirst().orElse(null);
     }
 
     public OrderPage clickOrderButton(ButtonPositionType buttonPositionType) {
-        log.debug("Кликаю на кнопку заказа: {}", buttonPositionType);
+        TestJournal.record(log, "Кликаю на кнопку заказа: {}", buttonPositionType);
         switch (buttonPositionType) {
             case TOP:
                 clickOnElement(topOrderButton, false);
@@ -112,7 +204,7 @@ public class MainPage extends BasePage {
     }
 
     public Boolean isOrderButtonPresent(ButtonPositionType buttonPositionType) {
-        log.debug("Проверяю отображение кнопки заказа: {}", buttonPositionType);
+        TestJournal.record(log, "Проверяю отображение кнопки заказа: {}", buttonPositionType);
         By buttonLocator = null;
 
         switch (buttonPositionType) {
@@ -1,5 +1,9 @@
 package pages;
 
+import config.AppConfig;
+import journal.TestJournal;
+import metrics.ActionMetrics;
+import metrics.ActionTimer;
 import models.Order;
 import models.ScooterColorType;
 import models.User;
@@ -8,6 +12,11 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Класс для работы со страницей оформления заказа
@@ -21,6 +30,11 @@ public class OrderPage extends BasePage {
      */
     private final By orderForm = By.xpath("//div[contains(@class, 'Order_Form')]");
 
+    /**
+     * Признак готовности страницы: приложение смонтировано в #root и форма заказа отрисована
+     */
+    private final By readySignal = By.cssSelector("#root div[class*='Order_Form']");
+
     /**
      * Локатор поля ввода имени
      */
@@ -109,18 +123,54 @@ public class OrderPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Ждёт, пока приложение смонтируется и отрисует форму заказа
+     *
+     * @return эта же страница
+     */
+    public OrderPage waitUntilReady() {
+        waitUntilReady(readySignal);
+        return this;
+    }
+
     /**
      * Заполняет основную форму заказа личными данными пользователя
      *
      * @param userData Объект с данными пользователя
      */
     public void fillOrderForm(User userData) {
-        log.debug("Заполняю основную форму заказа");
-        waitForVisibility(nameInput).sendKeys(userData.getName());
-        waitForVisibility(surnameInput).sendKeys(userData.getSurname());
-        waitForVisibility(addressInput).sendKeys(userData.getAddress());
+        TestJournal.record(log, "Заполняю основную форму заказа");
+        try (ActionTimer timer = ActionMetrics.start("fillOrderForm", orderForm)) {
+            if (AppConfig.FAST_FORM_FILL) {
+                fillOrderFormFast(userData);
+            } else {
+                waitForVisibility(nameInput).sendKeys(userData.getName());
+                waitForVisibility(surnameInput).sendKeys(userData.getSurname());
+                waitForVisibility(addressInput).sendKeys(userData.getAddress());
+                setMetroStation(userData.getMetroStation());
+                waitForVisibility(phoneInput).sendKeys(userData.getPhone());
+            }
+            timer.success();
+        }
+    }
+
+    /**
+     * Заполняет текстовые поля первого шага одним скриптом.
+     * Станция метро выбирается из выпадающего списка, поэтому вводится с клавиатуры.
+     *
+     * @param userData Объект с данными пользователя
+     */
+    private void fillOrderFormFast(User userData) {
+        waitForVisibility(nameInput);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(nameInput, userData.getName());
+        values.put(surnameInput, userData.getSurname());
+        values.put(addressInput, userData.getAddress());
+        values.put(phoneInput, userData.getPhone());
+        for (By rejected : fillInputs(values)) {
+            typeText(rejected, values.get(rejected));
+        }
         setMetroStation(userData.getMetroStation());
-        waitForVisibility(phoneInput).sendKeys(userData.getPhone());
     }
 
     /**
@@ -148,10 +198,41 @@ public class OrderPage extends BasePage {
      * @param orderData Объект с данными заказа
      */
     public void fillOrderForm2(Order orderData) {
-        setDeliveryDate(orderData.getOrderDateAsString());
+        try (ActionTimer timer = ActionMetrics.start("fillOrderForm2", orderForm)) {
+            if (AppConfig.FAST_FORM_FILL) {
+                fillOrderForm2Fast(orderData);
+            } else {
+                setDeliveryDate(orderData.getOrderDateAsString());
+                selectRentalPeriod(orderData.getPeriod().getDescription());
+                selectScooterColor(orderData.getScooterColor());
+                setComment(orderData.getComment());
+            }
+            timer.success();
+        }
+    }
+
+    /**
+     * Заполняет дату и комментарий второго шага одним скриптом,
+     * период аренды и цвет выбираются кликами
+     *
+     * @param orderData Объект с данными заказа
+     */
+    private void fillOrderForm2Fast(Order orderData) {
+        String date = orderData.getOrderDateAsString();
+        String comment = orderData.getComment() == null ? "" : orderData.getComment();
+        waitForVisibility(deliveryDateInput);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(deliveryDateInput, date);
+        values.put(commentInput, comment);
+        Set<By> rejected = fillInputs(values);
+        if (rejected.contains(deliveryDateInput)) {
+            setDeliveryDate(date);
+        }
+        if (rejected.contains(commentInput)) {
+            setComment(comment);
+        }
         selectRentalPeriod(orderData.getPeriod().getDescription());
         selectScooterColor(orderData.getScooterColor());
-        setComment(orderData.getComment());
     }
 
     /**
@@ -160,7 +241,7 @@ public class OrderPage extends BasePage {
      * @param date Дата доставки в формате, принятом системой
      */
     public void setDeliveryDate(String date) {
-        log.debug("Устанавливаю дату доставки: {}", date);
+        TestJournal.record(log, "Устанавливаю дату доставки: {}", date);
         WebElement dateInput = waitForVisibility(deliveryDateInput);
         dateInput.clear();
         dateInput.sendKeys(date);
@@ -174,8 +255,11 @@ public class OrderPage extends BasePage {
      * @param period Описание периода аренды
      */
     public void selectRentalPeriod(String period) {
-        clickOnElement(rentalPeriodDropdown, false);
-        clickOnElement(By.xpath(".//div[@class='Dropdown-menu']/div[text()='"+period+"']"), false);
+        try (ActionTimer timer = ActionMetrics.start("selectRentalPeriod", rentalPeriodDropdown)) {
+            clickOnElement(rentalPeriodDropdown, false);
+            clickOnElement(By.xpath(".//div[@class='Dropdown-menu']/div[text()='"+period+"']"), false);
+            timer.success();
+        }
     }
 
     /**
@@ -185,7 +269,7 @@ public class OrderPage extends BasePage {
      * @throws IllegalArgumentException Если передан неверный цвет самоката
      */
     public void selectScooterColor(ScooterColorType color) {
-        log.debug("Выбираю цвет самоката: {}", color);
+        TestJournal.record(log, "Выбираю цвет самоката: {}", color);
         switch (color) {
             case BLACK:
                 clickOnElement(blackScooterCheckbox, false);
@@ -211,6 +295,24 @@ public class OrderPage extends BasePage {
         }
     }
 
+    /**
+     * Возвращает значение поля даты доставки
+     *
+     * @return дата в том виде, в каком её показывает поле
+     */
+    public String getDeliveryDate() {
+        return waitForVisibility(deliveryDateInput).getDomProperty("value");
+    }
+
+    /**
+     * Возвращает значение поля комментария для курьера
+     *
+     * @return текст комментария
+     */
+    public String getComment() {
+        return waitForVisibility(commentInput).getDomProperty("value");
+    }
+
     /**
      * Нажимает кнопку "Заказать"
      */
@@ -240,53 +342,65 @@ public class OrderPage extends BasePage {
      * @return true, если форма и все элементы внутри отображаются
      */
     public boolean isOrderFormPresent() {
-        boolean formContainerPresent = isElementPresent(orderForm);
-
-        if (!formContainerPresent) {
-            return false;
-        }
-
-        boolean nameFieldPresent = isElementPresent(nameInput);
-        boolean surnameFieldPresent = isElementPresent(surnameInput);
-        boolean addressFieldPresent = isElementPresent(addressInput);
-        boolean phoneFieldPresent = isElementPresent(phoneInput);
-        boolean metroFieldPresent = isElementPresent(metroStationInput);
-        boolean nextButtonPresent = isElementPresent(nextButton);
-
-        return nameFieldPresent && surnameFieldPresent && addressFieldPresent && phoneFieldPresent && metroFieldPresent && nextButtonPresent;
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("Форма заказа", orderForm);
+        locators.put("Имя", nameInput);
+        locators.put("Фамилия", surnameInput);
+        locators.put("Адрес", addressInput);
+        locators.put("Телефон", phoneInput);
+        locators.put("Станция метро", metroStationInput);
+        locators.put("Кнопка \"Далее\"", nextButton);
+        return allPresent("Первый шаг формы заказа", locators);
     }
 
-
     /**
      * Проверяет отображение второй части формы заказа, полей и кнопок внутри
      *
      * @return true, если форма и все элементы внутри отображаются
      */
     public boolean isSecondStepFormPresent() {
-        boolean formContainerPresent = isElementPresent(orderForm);
-
-        if (!formContainerPresent) {
-            return false;
-        }
-
-        boolean deliveryDateFieldPresent = isElementPresent(deliveryDateInput);
-        boolean rentalPeriodFieldPresent = isElementPresent(rentalPeriodDropdown);
-        boolean blackScooterCheckboxPresent = isElementPresent(blackScooterCheckbox);
-        boolean greyScooterCheckboxPresent = isElementPresent(greyScooterCheckbox);
-        boolean commentFieldPresent = isElementPresent(commentInput);
-        boolean orderButtonPresent = isElementPresent(orderButton);
-
-        return deliveryDateFieldPresent && rentalPeriodFieldPresent && blackScooterCheckboxPresent && greyScooterCheckboxPresent && commentFieldPresent && orderButtonPresent;
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("Форма заказа", orderForm);
+        locators.put("Дата доставки", deliveryDateInput);
+        locators.put("Срок аренды", rentalPeriodDropdown);
+        locators.put("Чёрный самокат", blackScooterCheckbox);
+        locators.put("Серый самокат", greyScooterCheckbox);
+        locators.put("Комментарий", commentInput);
+        locators.put("Кнопка \"Заказать\"", orderButton);
+        return allPresent("Второй шаг формы заказа", locators);
     }
 
+    /**
+     * Проверяет отображение модального окна подтверждения заказа и его кнопок
+     *
+     * @return true, если окно и обе кнопки отображаются
+     */
     public boolean isModalFormPresent() {
-        boolean modalFormContainer = isElementPresent(orderModalForm);
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("Модальное окно", orderModalForm);
+        locators.put("Кнопка \"Да\"", yesButton);
+        locators.put("Кнопка \"Нет\"", noButton);
+        return allPresent("Окно подтверждения заказа", locators);
+    }
 
-        if (!modalFormContainer) {
-            return false;
+    /**
+     * Проверяет все элементы одним ожиданием и пишет в лог отсутствующие
+     *
+     * @param formName название проверяемой формы
+     * @param locators локаторы элементов по именам
+     * @return true, если отображаются все элементы
+     */
+    private boolean allPresent(String formName, Map<String, By> locators) {
+        Map<String, Boolean> presence = arePresent(locators);
+        List<String> missing = new ArrayList<>();
+        presence.forEach((name, present) -> {
+            if (!present) {
+                missing.add(name);
+            }
+        });
+        if (!missing.isEmpty()) {
+            log.error("{}: не отображаются {}", formName, missing);
         }
-
-        return isElementPresent(yesButton) && isElementPresent(noButton);
+        return missing.isEmpty();
     }
 }
-
@@ -0,0 +1,168 @@
+package pages;
+
+import org.openqa.selenium.By;
+
+/**
+ * JavaScript-фрагменты, которые страницы выполняют в браузере за один вызов.
+ * Локатор передаётся в скрипт в виде пары «стратегия, значение» из {@link By.Remotable}.
+ */
+final class PageScripts {
+
+    /**
+     * Функции поиска элементов и проверки их видимости
+     */
+    static final String DOM_HELPERS =
+            "function findAll(using, value) {" +
+            "  if (using === 'css selector') {" +
+            "    return Array.prototype.slice.call(document.querySelectorAll(value));" +
+            "  }" +
+            "  if (using === 'id') {" +
+            "    var byId = document.getElementById(value);" +
+            "    return byId ? [byId] : [];" +
+            "  }" +
+            "  if (using === 'name') {" +
+            "    return Array.prototype.slice.call(document.getElementsByName(value));" +
+            "  }" +
+            "  if (using === 'class name') {" +
+            "    return Array.prototype.slice.call(document.getElementsByClassName(value));" +
+            "  }" +
+            "  if (using === 'tag name') {" +
+            "    return Array.prototype.slice.call(document.getElementsByTagName(value));" +
+            "  }" +
+            "  if (using === 'xpath') {" +
+            "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    var found = [];" +
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) {" +
+            "      found.push(snapshot.snapshotItem(i));" +
+            "    }" +
+            "    return found;" +
+            "  }" +
+            "  throw new Error('Unsupported locator strategy: ' + using);" +
+            "}" +
+            "function isVisible(element) {" +
+            "  if (!element || !document.documentElement.contains(element) || element.getClientRects().length === 0) {" +
+            "    return false;" +
+            "  }" +
+            "  for (var node = element; node && node.nodeType === 1; node = node.parentNode) {" +
+            "    var style = window.getComputedStyle(node);" +
+            "    if (style.display === 'none' || Number(style.opacity) === 0) {" +
+            "      return false;" +
+            "    }" +
+            "  }" +
+            "  var own = window.getComputedStyle(element);" +
+            "  return own.visibility !== 'hidden' && own.visibility !== 'collapse';" +
+            "}" +
+            "function snapshot(element) {" +
+            "  var displayed = isVisible(element);" +
+            "  var attributes = {};" +
+            "  for (var i = 0; i < element.attributes.length; i++) {" +
+            "    attributes[element.attributes[i].name] = element.attributes[i].value;" +
+            "  }" +
+            "  if (typeof element.value === 'string') {" +
+            "    attributes.value = element.value;" +
+            "  }" +
+            "  return {" +
+            "    element: element," +
+            "    text: displayed ? element.innerText.trim() : ''," +
+            "    displayed: displayed," +
+            "    attributes: attributes" +
+            "  };" +
+            "}";
+
+    /**
+     * Читает текст, видимость и атрибуты всех найденных элементов.
+     * Аргументы: стратегия и значение локатора.
+     */
+    static final String READ_ELEMENTS =
+            DOM_HELPERS +
+            "return findAll(arguments[0], arguments[1]).map(snapshot);";
+
+    /**
+     * Раскрывает вопросы аккордеона по очереди и читает каждый вопрос с его ответом.
+     * Следующий вопрос раскрывается, когда отобразилась панель предыдущего или истёк общий таймаут.
+     * Аргументы: стратегия и значение локатора кнопок вопросов, таймаут в мс.
+     * Возвращает массив пар {question, answer}, answer равен null, если панель не найдена.
+     */
+    static final String EXPAND_ACCORDION =
+            DOM_HELPERS +
+            "var buttons = findAll(arguments[0], arguments[1]);" +
+            "var deadline = Date.now() + arguments[2];" +
+            "var done = arguments[arguments.length - 1], items = [];" +
+            "function panelOf(button) {" +
+            "  var item = button.closest('[data-accordion-component=\"AccordionItem\"]');" +
+            "  return item ? item.querySelector('[data-accordion-component=\"AccordionItemPanel\"]') : null;" +
+            "}" +
+            "function expand(index) {" +
+            "  if (index >= buttons.length) {" +
+            "    done(items);" +
+            "    return;" +
+            "  }" +
+            "  var button = buttons[index], question = snapshot(button);" +
+            "  if (button.getAttribute('aria-expanded') !== 'true') {" +
+            "    button.scrollIntoView({block: 'center'});" +
+            "    button.click();" +
+            "  }" +
+            "  (function check() {" +
+            "    var panel = panelOf(button);" +
+            "    if (isVisible(panel) || Date.now() >= deadline) {" +
+            "      items.push({question: question, answer: panel ? snapshot(panel) : null});" +
+            "      expand(index + 1);" +
+            "    } else {" +
+            "      setTimeout(check, 10);" +
+            "    }" +
+            "  })();" +
+            "}" +
+            "expand(0);";
+
+    /**
+     * Записывает значения в поля ввода так, как это делает пользователь:
+     * через нативный сеттер value с последующими событиями input и change,
+     * чтобы React обновил своё состояние.
+     * Аргумент: массив троек «стратегия, значение локатора, текст».
+     */
+    static final String SET_VALUES =
+            DOM_HELPERS +
+            "arguments[0].forEach(function (field) {" +
+            "  var element = findAll(field[0], field[1])[0];" +
+            "  if (!element) {" +
+            "    return;" +
+            "  }" +
+            "  var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value');" +
+            "  if (descriptor && descriptor.set) {" +
+            "    descriptor.set.call(element, field[2]);" +
+            "  } else {" +
+            "    element.value = field[2];" +
+            "  }" +
+            "  element.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  element.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "});";
+
+    /**
+     * Читает текущие значения полей ввода.
+     * Аргумент: массив пар «стратегия, значение локатора».
+     * Для ненайденного поля возвращается null.
+     */
+    static final String READ_VALUES =
+            DOM_HELPERS +
+            "return arguments[0].map(function (field) {" +
+            "  var element = findAll(field[0], field[1])[0];" +
+            "  return element ? element.value : null;" +
+            "});";
+
+    private PageScripts() {
+    }
+
+    /**
+     * Преобразует локатор в аргументы скрипта
+     *
+     * @param locator локатор элемента
+     * @return массив из стратегии поиска и значения локатора
+     */
+    static Object[] locatorArguments(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Локатор не поддерживается для поиска скриптом: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return new Object[]{parameters.using(), parameters.value()};
+    }
+}
@@ -0,0 +1,76 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Страница статуса заказа по трек-номеру
+ */
+public class TrackPage extends BasePage {
+    /**
+     * Признак готовности страницы: заказ найден и показан или показано сообщение, что его нет
+     */
+    private final By readySignal = By.cssSelector("#root div[class*='Track_OrderInfo'], #root div[class*='Track_NotFound']");
+
+    /**
+     * Блок с данными найденного заказа
+     */
+    private final By orderInfo = By.cssSelector("div[class*='Track_OrderInfo']");
+
+    /**
+     * Названия строк с данными заказа
+     */
+    private final By rowTitles = By.cssSelector("div[class*='Track_Row'] div[class*='Track_Title']");
+
+    /**
+     * Значения строк с данными заказа
+     */
+    private final By rowValues = By.cssSelector("div[class*='Track_Row'] div[class*='Track_Value']");
+
+    /**
+     * Конструктор страницы
+     *
+     * @param driver экземпляр драйвера
+     */
+    public TrackPage(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Ждёт, пока приложение загрузит заказ и покажет результат поиска
+     *
+     * @return эта же страница
+     */
+    public TrackPage waitUntilReady() {
+        waitUntilReady(readySignal);
+        return this;
+    }
+
+    /**
+     * Проверяет, найден ли заказ
+     *
+     * @return true, если показаны данные заказа
+     */
+    public boolean isOrderFound() {
+        return !readElements(orderInfo).isEmpty();
+    }
+
+    /**
+     * Читает данные заказа со страницы
+     *
+     * @return значения по названиям строк в порядке их следования, пустая карта, если заказ не найден
+     */
+    public Map<String, String> getOrderInfo() {
+        List<ElementSnapshot> titles = readElements(rowTitles);
+        List<ElementSnapshot> values = readElements(rowValues);
+        Map<String, String> info = new LinkedHashMap<>();
+        for (int i = 0; i < titles.size() && i < values.size(); i++) {
+            info.put(titles.get(i).getText(), values.get(i).getText());
+        }
+        return info;
+    }
+}
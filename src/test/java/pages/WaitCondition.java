@@ -0,0 +1,46 @@
+package pages;
+
+/**
+ * Условия ожидания, которые проверяются внутри страницы движком {@link DomWaiter}
+ */
+enum WaitCondition {
+    /**
+     * Элемент есть в DOM
+     */
+    PRESENT("present"),
+
+    /**
+     * Элемент есть в DOM и отображается
+     */
+    VISIBLE("visible"),
+
+    /**
+     * Элемент отображается, доступен и не перекрыт другим элементом
+     */
+    CLICKABLE("clickable"),
+
+    /**
+     * Элемента нет в DOM или он не отображается
+     */
+    HIDDEN("hidden"),
+
+    /**
+     * Элемент отображается и содержит непустой текст
+     */
+    TEXT_LOADED("text");
+
+    private final String scriptName;
+
+    WaitCondition(String scriptName) {
+        this.scriptName = scriptName;
+    }
+
+    /**
+     * Возвращает имя условия, понятное скрипту ожидания
+     *
+     * @return имя условия
+     */
+    String getScriptName() {
+        return scriptName;
+    }
+}
@@ -0,0 +1,40 @@
+package runner;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Наибольшее число команд браузеру, которое может выполнить один тест класса,
+ * включая подготовку в BaseTest, и общая сессия класса. Тест или сессия, превысившие бюджет, падают.
+ * Бюджеты действуют только против локальной копии приложения (-Dapp.mode=local) с ожиданиями
+ * через наблюдатель и заполнением форм скриптом, в которых они замерены. На удалённом стенде
+ * и с -Dwait.engine=polling число команд зависит от сети и скорости страницы, а с -Dform.fill=keys
+ * каждое поле вводится отдельными командами, поэтому команды только учитываются.
+ * Продолжения долгих ожиданий, их повторы после перезагрузки страницы и выяснение согласия
+ * с куками первым тестом JVM в бюджет не входят и учитываются отдельно.
+ * Значения берутся из замера: наибольшее число команд из target/metrics/commands.json
+ * прогона в режиме -Dapp.mode=local с запасом около четверти. Замер нужен и для класса в отдельной JVM,
+ * где согласие с куками выясняется заново, и после других классов, где оно подставляется куками.
+ * После изменения шагов теста замер нужно повторить.
+ * Проверку можно отключить свойством -Dcommand.budget=off.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CommandBudget {
+
+    /**
+     * @return наибольшее число команд на один тест
+     */
+    int value();
+
+    /**
+     * @return наибольшее число команд общей сессии класса, отрицательное - без проверки
+     */
+    int shared() default -1;
+}
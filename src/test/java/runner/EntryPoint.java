@@ -0,0 +1,54 @@
+package runner;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Страница, с которой BaseTest начинает каждый тест класса.
+ * Без аннотации тест начинается с главной страницы.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EntryPoint {
+
+    /**
+     * @return стартовая страница
+     */
+    Route value();
+
+    /**
+     * Страницы приложения, открываемые по прямой ссылке
+     */
+    enum Route {
+        /**
+         * Главная страница с кнопками заказа и вопросами
+         */
+        MAIN(""),
+
+        /**
+         * Первый шаг формы заказа
+         */
+        ORDER("order");
+
+        private final String path;
+
+        Route(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Возвращает путь страницы относительно адреса приложения
+         *
+         * @return путь без ведущего слэша
+         */
+        public String getPath() {
+            return path;
+        }
+    }
+}
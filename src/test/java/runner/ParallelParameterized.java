@@ -0,0 +1,110 @@
+package runner;
+
+import config.AppConfig;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Parameterized;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Параметризованный раннер, выполняющий строки параметров параллельно.
+ * Каждая строка целиком (настройка, тест, завершение) выполняется в одном рабочем потоке,
+ * поэтому драйвер теста не покидает этот поток.
+ * Количество потоков задаётся свойством test.threads.
+ * Со свойствами shard.index и shard.count выполняется только доля строк, выпавшая шарду,
+ * см. {@link ShardPlan}. Шарды делят строки по файлу из свойства shard.timings, одному для всех машин,
+ * а без него - поровну по числу строк.
+ * Строки запускаются от самой долгой к самой короткой по длительностям прошлых прогонов,
+ * с -Drow.order=declared - в порядке объявления.
+ */
+public class ParallelParameterized extends Parameterized {
+    private static final Logger log = LoggerFactory.getLogger(ParallelParameterized.class);
+
+    private final Class<?> testClass;
+    private final List<Runner> rows;
+
+    public ParallelParameterized(Class<?> klass) throws Throwable {
+        super(klass);
+        this.testClass = klass;
+        List<Runner> all = super.getChildren();
+        RowTimings timings = RowTimings.load();
+        RowTimings planTimings = AppConfig.SHARD_COUNT == 1 ? timings
+                : AppConfig.SHARD_TIMINGS_FILE.isEmpty() ? RowTimings.empty()
+                : RowTimings.load(Paths.get(AppConfig.SHARD_TIMINGS_FILE));
+        List<Runner> shard = ShardPlan.select(all, this::key, planTimings, AppConfig.SHARD_INDEX, AppConfig.SHARD_COUNT);
+        this.rows = AppConfig.LONGEST_FIRST ? ShardPlan.longestFirst(shard, this::key, timings) : shard;
+        if (AppConfig.SHARD_COUNT > 1) {
+            String fingerprint = planTimings.fingerprint();
+            ShardReport.getInstance().plan(keys(all), keys(shard), fingerprint);
+            log.info("{}: шард {} из {} выполняет {} строк из {}, план {}", klass.getSimpleName(),
+                    AppConfig.SHARD_INDEX + 1, AppConfig.SHARD_COUNT, rows.size(), all.size(), fingerprint);
+        }
+        setScheduler(new ParallelScheduler(klass.getSimpleName(), AppConfig.TEST_THREADS));
+    }
+
+    @Override
+    protected List<Runner> getChildren() {
+        return rows == null ? super.getChildren() : rows;
+    }
+
+    @Override
+    protected void runChild(Runner runner, RunNotifier notifier) {
+        RowListener listener = new RowListener(runner.getDescription());
+        notifier.addListener(listener);
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            super.runChild(runner, notifier);
+        } finally {
+            long duration = (System.nanoTime() - start) / 1_000_000;
+            notifier.removeListener(listener);
+            ShardReport.getInstance().record(testClass, rowName(runner), startedAt, duration, listener.failures.get());
+        }
+    }
+
+    private String key(Runner runner) {
+        return RowTimings.key(testClass, rowName(runner));
+    }
+
+    private List<String> keys(List<Runner> runners) {
+        return runners.stream().map(this::key).collect(Collectors.toList());
+    }
+
+    /**
+     * Имя строки параметров: JUnit показывает его в квадратных скобках
+     */
+    private static String rowName(Runner runner) {
+        String name = runner.getDescription().getDisplayName();
+        return name.startsWith("[") && name.endsWith("]") ? name.substring(1, name.length() - 1) : name;
+    }
+
+    /**
+     * Считает упавшие тесты одной строки параметров
+     */
+    private static final class RowListener extends RunListener {
+        private final Set<Description> tests = new HashSet<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        RowListener(Description row) {
+            tests.addAll(row.getChildren());
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            if (tests.contains(failure.getDescription())) {
+                failures.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package runner;
+
+import org.junit.runners.model.RunnerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Планировщик JUnit, запускающий дочерние раннеры на пуле потоков фиксированного размера
+ */
+class ParallelScheduler implements RunnerScheduler {
+    private static final Logger log = LoggerFactory.getLogger(ParallelScheduler.class);
+
+    private final ExecutorService executor;
+
+    ParallelScheduler(String name, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть больше нуля");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, name + "-worker-" + counter.incrementAndGet()));
+        log.debug("Параллельный запуск {} в {} потоках", name, threads);
+    }
+
+    @Override
+    public void schedule(Runnable childStatement) {
+        executor.execute(childStatement);
+    }
+
+    @Override
+    public void finished() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ожидание завершения параллельных тестов прервано", e);
+        }
+    }
+}
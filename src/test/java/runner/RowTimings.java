@@ -0,0 +1,160 @@
+package runner;
+
+import config.AppConfig;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Длительности строк параметризованных тестов из прошлых прогонов.
+ * Хранятся в JSON-файле из свойства timings.file по ключу «класс#имя строки», в миллисекундах.
+ */
+public final class RowTimings {
+    private static final Logger log = LoggerFactory.getLogger(RowTimings.class);
+
+    private final Path file;
+    private final Map<String, Long> durations = new TreeMap<>();
+
+    RowTimings(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Читает длительности из файла timings.file.
+     * Отсутствующий или повреждённый файл даёт пустую историю
+     *
+     * @return длительности строк
+     */
+    public static RowTimings load() {
+        return load(Paths.get(AppConfig.TIMINGS_FILE));
+    }
+
+    /**
+     * Читает длительности из указанного файла.
+     * Отсутствующий или повреждённый файл даёт пустую историю
+     *
+     * @param file путь к файлу
+     * @return длительности строк
+     */
+    public static RowTimings load(Path file) {
+        RowTimings timings = new RowTimings(file);
+        if (!Files.exists(timings.file)) {
+            return timings;
+        }
+        try {
+            String content = new String(Files.readAllBytes(timings.file), StandardCharsets.UTF_8);
+            Map<String, Object> values = new Json().toType(content, Json.MAP_TYPE);
+            values.forEach((key, value) -> {
+                if (value instanceof Number) {
+                    timings.durations.put(key, ((Number) value).longValue());
+                }
+            });
+        } catch (IOException | JsonException | ClassCastException e) {
+            log.warn("Не удалось прочитать длительности тестов из {}, шарды будут поделены по числу строк",
+                    timings.file, e);
+        }
+        return timings;
+    }
+
+    /**
+     * Пустая история: строки делятся поровну по числу
+     *
+     * @return история без длительностей
+     */
+    static RowTimings empty() {
+        return new RowTimings(Paths.get(AppConfig.TIMINGS_FILE));
+    }
+
+    /**
+     * Ключ строки теста в истории
+     *
+     * @param testClass    класс теста
+     * @param testCaseName имя строки параметров
+     * @return ключ «класс#имя строки»
+     */
+    public static String key(Class<?> testClass, String testCaseName) {
+        return testClass.getName() + "#" + testCaseName;
+    }
+
+    /**
+     * Возвращает длительность строки из истории
+     *
+     * @param key ключ строки
+     * @return миллисекунды или null, если строка ещё не выполнялась
+     */
+    public Long get(String key) {
+        return durations.get(key);
+    }
+
+    /**
+     * Учитывает новую длительность строки.
+     * Новое значение усредняется с прошлым, чтобы один медленный прогон не перекраивал шарды
+     *
+     * @param key      ключ строки
+     * @param duration длительность в миллисекундах
+     */
+    public void update(String key, long duration) {
+        durations.merge(key, duration, (previous, current) -> (previous + current) / 2);
+    }
+
+    /**
+     * Возвращает число строк с известной длительностью
+     *
+     * @return число строк
+     */
+    public int size() {
+        return durations.size();
+    }
+
+    /**
+     * Отпечаток содержимого истории. Шарды, поделившие строки по одной истории, дают один отпечаток
+     *
+     * @return первые 16 шестнадцатеричных знаков SHA-256 от длительностей в JSON
+     */
+    public String fingerprint() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(new Json().toJson(durations).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Записывает длительности обратно в файл.
+     * Файл пишется во временный рядом и переносится атомарно, поэтому читатель не увидит его наполовину записанным
+     */
+    public void save() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, new Json().toJson(durations).getBytes(StandardCharsets.UTF_8));
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            log.info("Длительности {} строк тестов записаны: {}", durations.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать длительности тестов: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package runner;
+
+import config.AppConfig;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Сводит результаты шардов из каталога metrics.dir в один отчёт shards.json
+ * и дополняет историю длительностей строк, по которой делятся следующие прогоны.
+ * При нескольких шардах это единственный, кто пишет историю: сами шарды её только читают.
+ * Записанный файл длительностей передаётся всем шардам следующего прогона свойством shard.timings.
+ * Прогон считается неудачным, если нет файла какого-то шарда, шарды поделили строки по разным историям,
+ * какую-то строку не выполнил ни один шард или выполнили несколько.
+ * Файлы шардов с разных машин нужно предварительно собрать в один каталог.
+ * Запуск: mvn -Pshard-merge test-compile exec:exec -Dshard.count=4
+ */
+public final class ShardMerger {
+    private static final Logger log = LoggerFactory.getLogger(ShardMerger.class);
+
+    private static final String REPORT_FILE = "shards.json";
+
+    private ShardMerger() {
+    }
+
+    public static void main(String[] args) {
+        Path dir = Paths.get(AppConfig.METRICS_DIR);
+        RowTimings timings = RowTimings.load();
+        List<Object> rows = new ArrayList<>();
+        List<Long> walls = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        Set<String> plans = new TreeSet<>();
+        Set<String> expected = new TreeSet<>();
+        Map<String, Integer> executed = new TreeMap<>();
+        long failures = 0;
+
+        for (int index = 0; index < AppConfig.SHARD_COUNT; index++) {
+            Map<String, Object> shard = read(dir.resolve(ShardReport.fileName(index)));
+            if (shard == null) {
+                missing.add(index);
+                continue;
+            }
+            walls.add(((Number) shard.get("wallMs")).longValue());
+            plans.addAll(strings(shard.get("plans")));
+            expected.addAll(strings(shard.get("expectedRows")));
+            for (Object value : (List<?>) shard.get("rows")) {
+                Map<?, ?> row = (Map<?, ?>) value;
+                executed.merge((String) row.get("key"), 1, Integer::sum);
+                long rowFailures = ((Number) row.get("failures")).longValue();
+                failures += rowFailures;
+                if (rowFailures == 0) {
+                    timings.update((String) row.get("key"), ((Number) row.get("durationMs")).longValue());
+                }
+                rows.add(row);
+            }
+        }
+
+        List<String> missingRows = new ArrayList<>(expected);
+        missingRows.removeAll(executed.keySet());
+        List<String> duplicateRows = new ArrayList<>();
+        executed.forEach((key, count) -> {
+            if (count > 1) {
+                duplicateRows.add(key);
+            }
+        });
+
+        long slowest = walls.stream().mapToLong(Long::longValue).max().orElse(0);
+        double average = walls.stream().mapToLong(Long::longValue).average().orElse(0);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shards", AppConfig.SHARD_COUNT);
+        report.put("missingShards", missing);
+        report.put("plans", new ArrayList<>(plans));
+        report.put("missingRows", missingRows);
+        report.put("duplicateRows", duplicateRows);
+        report.put("rowCount", rows.size());
+        report.put("failures", failures);
+        report.put("shardWallMs", walls);
+        report.put("slowestShardMs", slowest);
+        report.put("imbalance", average == 0 ? 0 : Math.round(slowest / average * 100) / 100.0);
+        report.put("rows", rows);
+        write(dir.resolve(REPORT_FILE), report);
+        timings.save();
+
+        log.info("Шардов {}, строк {}, упавших тестов {}, самый долгий шард {} мс, перекос {}",
+                AppConfig.SHARD_COUNT, rows.size(), failures, slowest, report.get("imbalance"));
+        if (!missing.isEmpty()) {
+            log.error("Нет результатов шардов {}", missing);
+        }
+        if (plans.size() > 1) {
+            log.error("Шарды поделили строки по разным историям длительностей: {}", plans);
+        }
+        if (!missingRows.isEmpty()) {
+            log.error("Строки не выполнил ни один шард: {}", missingRows);
+        }
+        if (!duplicateRows.isEmpty()) {
+            log.error("Строки выполнены несколькими шардами: {}", duplicateRows);
+        }
+        boolean covered = missing.isEmpty() && plans.size() <= 1 && missingRows.isEmpty() && duplicateRows.isEmpty();
+        System.exit(covered && failures == 0 ? 0 : 1);
+    }
+
+    private static List<String> strings(Object value) {
+        List<String> result = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                result.add(String.valueOf(item));
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Object> read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            return new Json().toType(content, Json.MAP_TYPE);
+        } catch (IOException | JsonException e) {
+            log.error("Не удалось прочитать результаты шарда: {}", file, e);
+            return null;
+        }
+    }
+
+    private static void write(Path file, Map<String, Object> report) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Сводный отчёт шардов записан: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать сводный отчёт шардов: {}", file, e);
+        }
+    }
+}
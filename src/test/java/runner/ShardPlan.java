@@ -0,0 +1,111 @@
+package runner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Делит строки параметризованного теста между шардами по длительности из прошлых прогонов.
+ * Строки раскладываются жадно от самой долгой к самой короткой, каждая в наименее загруженный шард.
+ * Строкам без истории приписывается медиана известных длительностей класса,
+ * а без истории вообще строки делятся поровну по числу.
+ * Раскладка зависит только от строк и файла длительностей, поэтому на всех машинах она одинакова.
+ * Внутри шарда строки запускаются от самой долгой к самой короткой,
+ * чтобы долгая строка не начиналась последней и не растягивала прогон.
+ */
+final class ShardPlan {
+
+    private ShardPlan() {
+    }
+
+    /**
+     * Выбирает строки, которые выполняет шард
+     *
+     * @param rows    строки в порядке объявления
+     * @param key     ключ строки в истории длительностей
+     * @param timings длительности прошлых прогонов
+     * @param index   номер шарда
+     * @param count   число шардов
+     * @param <T>     тип строки
+     * @return строки шарда в порядке объявления
+     */
+    static <T> List<T> select(List<T> rows, Function<T, String> key, RowTimings timings, int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Номер шарда " + index + " вне диапазона для " + count + " шардов");
+        }
+        if (count == 1) {
+            return rows;
+        }
+        long[] estimates = estimate(rows, key, timings);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingLong(i -> estimates[i]).reversed()
+                .thenComparing(i -> key.apply(rows.get(i))));
+
+        long[] load = new long[count];
+        int[] shardOf = new int[rows.size()];
+        for (int row : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (load[shard] < load[lightest]) {
+                    lightest = shard;
+                }
+            }
+            shardOf[row] = lightest;
+            load[lightest] += estimates[row];
+        }
+
+        List<T> selected = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (shardOf[i] == index) {
+                selected.add(rows.get(i));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Упорядочивает строки от самой долгой к самой короткой.
+     * Строки с равной оценкой, в том числе все строки класса без истории, остаются в порядке объявления
+     *
+     * @param rows    строки в порядке объявления
+     * @param key     ключ строки в истории длительностей
+     * @param timings длительности прошлых прогонов
+     * @param <T>     тип строки
+     * @return строки в порядке запуска
+     */
+    static <T> List<T> longestFirst(List<T> rows, Function<T, String> key, RowTimings timings) {
+        long[] estimates = estimate(rows, key, timings);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingLong(i -> estimates[i]).reversed());
+        List<T> sorted = new ArrayList<>();
+        for (int i : order) {
+            sorted.add(rows.get(i));
+        }
+        return sorted;
+    }
+
+    private static <T> long[] estimate(List<T> rows, Function<T, String> key, RowTimings timings) {
+        List<Long> known = new ArrayList<>();
+        Long[] durations = new Long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            durations[i] = timings.get(key.apply(rows.get(i)));
+            if (durations[i] != null) {
+                known.add(durations[i]);
+            }
+        }
+        known.sort(null);
+        long fallback = known.isEmpty() ? 1 : known.get(known.size() / 2);
+        long[] estimates = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            estimates[i] = durations[i] == null ? fallback : Math.max(durations[i], 1);
+        }
+        return estimates;
+    }
+}
@@ -0,0 +1,85 @@
+package runner;
+
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardPlanTest {
+    private static final Function<String, String> KEY = Function.identity();
+
+    @Test
+    public void testRowsAreBalancedByDuration() {
+        RowTimings timings = timings("a", 100, "b", 60, "c", 50, "d", 40, "e", 10);
+        List<String> rows = Arrays.asList("a", "b", "c", "d", "e");
+
+        assertThat(ShardPlan.select(rows, KEY, timings, 0, 2)).containsExactly("a", "d");
+        assertThat(ShardPlan.select(rows, KEY, timings, 1, 2)).containsExactly("b", "c", "e");
+    }
+
+    @Test
+    public void testEveryRowGoesToExactlyOneShard() {
+        RowTimings timings = timings("a", 30, "c", 20, "f", 5);
+        List<String> rows = Arrays.asList("a", "b", "c", "d", "e", "f", "g");
+
+        List<String> all = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            all.addAll(ShardPlan.select(rows, KEY, timings, index, 3));
+        }
+        assertThat(all).containsExactlyInAnyOrderElementsOf(rows);
+    }
+
+    @Test
+    public void testAssignmentDoesNotDependOnDeclarationOrder() {
+        RowTimings timings = timings();
+        List<String> rows = Arrays.asList("a", "b", "c", "d", "e");
+        List<String> reversed = new ArrayList<>(rows);
+        Collections.reverse(reversed);
+
+        for (int index = 0; index < 2; index++) {
+            assertThat(ShardPlan.select(reversed, KEY, timings, index, 2))
+                    .containsExactlyInAnyOrderElementsOf(ShardPlan.select(rows, KEY, timings, index, 2));
+        }
+        assertThat(ShardPlan.select(rows, KEY, timings, 0, 2)).containsExactly("a", "c", "e");
+    }
+
+    @Test
+    public void testSingleShardRunsAllRowsInDeclaredOrder() {
+        List<String> rows = Arrays.asList("c", "a", "b");
+
+        assertThat(ShardPlan.select(rows, KEY, timings("a", 10), 0, 1)).containsExactly("c", "a", "b");
+    }
+
+    @Test
+    public void testRowWithoutHistoryIsEstimatedByMedian() {
+        RowTimings timings = timings("a", 100, "b", 10);
+
+        assertThat(ShardPlan.longestFirst(Arrays.asList("b", "c", "a"), KEY, timings))
+                .containsExactly("c", "a", "b");
+    }
+
+    @Test
+    public void testShardIndexOutOfRangeIsRejected() {
+        List<String> rows = Arrays.asList("a", "b");
+
+        assertThatThrownBy(() -> ShardPlan.select(rows, KEY, timings(), 2, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ShardPlan.select(rows, KEY, timings(), -1, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RowTimings timings(Object... keysAndDurations) {
+        RowTimings timings = new RowTimings(Paths.get("unused-timings.json"));
+        for (int i = 0; i < keysAndDurations.length; i += 2) {
+            timings.update((String) keysAndDurations[i], (Integer) keysAndDurations[i + 1]);
+        }
+        return timings;
+    }
+}
@@ -0,0 +1,129 @@
+package runner;
+
+import config.AppConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Результаты строк параметризованных тестов, выполненных в этом шарде.
+ * При нескольких шардах при завершении JVM пишет их в target/metrics/shard-N.json,
+ * вместе с отпечатком плана и ключами всех строк классов и строк, выпавших шарду.
+ * Файлы всех шардов сводит {@link ShardMerger}, и только он дополняет историю {@link RowTimings},
+ * чтобы строки не учитывались дважды и шарды не перезаписывали файл друг друга.
+ * В прогоне без шардов файл шарда не пишется: длительности строк без упавших тестов
+ * сразу дополняют историю, по которой следующий прогон упорядочивает строки.
+ */
+final class ShardReport {
+    private static final Logger log = LoggerFactory.getLogger(ShardReport.class);
+
+    private static final ShardReport instance = new ShardReport();
+
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private final Set<String> plans = new TreeSet<>();
+    private final Set<String> expectedRows = new TreeSet<>();
+    private final Set<String> assignedRows = new TreeSet<>();
+    private long firstStart = Long.MAX_VALUE;
+    private long lastFinish = Long.MIN_VALUE;
+
+    private ShardReport() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writeReport, "shard-report"));
+    }
+
+    static ShardReport getInstance() {
+        return instance;
+    }
+
+    /**
+     * Имя файла с результатами шарда
+     *
+     * @param index номер шарда
+     * @return имя файла
+     */
+    static String fileName(int index) {
+        return "shard-" + index + ".json";
+    }
+
+    /**
+     * Запоминает, как поделены строки класса, чтобы {@link ShardMerger} проверил покрытие
+     *
+     * @param all         ключи всех строк класса
+     * @param assigned    ключи строк, выпавших этому шарду
+     * @param fingerprint отпечаток истории, по которой поделены строки
+     */
+    synchronized void plan(List<String> all, List<String> assigned, String fingerprint) {
+        plans.add(fingerprint);
+        expectedRows.addAll(all);
+        assignedRows.addAll(assigned);
+    }
+
+    /**
+     * Учитывает выполненную строку теста
+     *
+     * @param testClass    класс теста
+     * @param testCaseName имя строки параметров
+     * @param startedAt    момент начала строки, System.currentTimeMillis()
+     * @param duration     длительность строки в миллисекундах
+     * @param failures     число упавших тестов строки
+     */
+    synchronized void record(Class<?> testClass, String testCaseName, long startedAt, long duration, int failures) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("key", RowTimings.key(testClass, testCaseName));
+        row.put("durationMs", duration);
+        row.put("failures", failures);
+        rows.add(row);
+        firstStart = Math.min(firstStart, startedAt);
+        lastFinish = Math.max(lastFinish, startedAt + duration);
+    }
+
+    private synchronized void writeReport() {
+        if (AppConfig.SHARD_COUNT == 1) {
+            if (!rows.isEmpty()) {
+                saveTimings();
+            }
+            return;
+        }
+        if (rows.isEmpty() && expectedRows.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shard", AppConfig.SHARD_INDEX);
+        report.put("shards", AppConfig.SHARD_COUNT);
+        report.put("wallMs", rows.isEmpty() ? 0 : lastFinish - firstStart);
+        report.put("plans", new ArrayList<>(plans));
+        report.put("expectedRows", new ArrayList<>(expectedRows));
+        report.put("assignedRows", new ArrayList<>(assignedRows));
+        report.put("rows", rows);
+        Path file = Paths.get(AppConfig.METRICS_DIR, fileName(AppConfig.SHARD_INDEX));
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Результаты шарда {} из {} записаны: {}", AppConfig.SHARD_INDEX + 1, AppConfig.SHARD_COUNT,
+                    file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Не удалось записать результаты шарда: {}", file, e);
+        }
+    }
+
+    private void saveTimings() {
+        RowTimings timings = RowTimings.load();
+        for (Map<String, Object> row : rows) {
+            if ((Integer) row.get("failures") == 0) {
+                timings.update((String) row.get("key"), (Long) row.get("durationMs"));
+            }
+        }
+        timings.save();
+    }
+}
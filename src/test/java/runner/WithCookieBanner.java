@@ -0,0 +1,19 @@
+package runner;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Отключает для класса тестов подстановку согласия с куками.
+ * Главная страница открывается с баннером, и тест сам решает, что с ним делать.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WithCookieBanner {
+}
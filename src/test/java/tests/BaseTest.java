@@ -1,17 +1,34 @@
 package tests;
 
+import artifacts.ArtifactWriter;
+import artifacts.FailureSnapshot;
 import config.AppConfig;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import driver.CommandCounter;
+import driver.DriverPool;
+import driver.RequestFilter;
+import journal.TestJournal;
+import metrics.ActionMetrics;
+import metrics.ActionTimer;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pages.BasePage;
+import pages.CookieConsent;
 import pages.MainPage;
+import pages.OrderPage;
+import runner.CommandBudget;
+import runner.EntryPoint;
+import runner.WithCookieBanner;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class BaseTest {
     protected WebDriver driver;
@@ -19,6 +36,50 @@ public abstract class BaseTest {
     protected Logger logger;
     protected String testCaseName;
     protected MainPage mainPage;
+    protected OrderPage orderPage;
+    private String workerName;
+    private WebDriver leasedDriver;
+    private CommandCounter commands;
+
+    /**
+     * Снимает состояние браузера и журнал при падении теста и возвращает браузер в пул.
+     * Правило срабатывает после {@link #tearDown()}, поэтому браузер освобождается здесь:
+     * к моменту снимка он должен быть ещё открыт. Снимок пишется на диск в фоне.
+     */
+    @Rule
+    public final TestWatcher browserSession = new TestWatcher() {
+        @Override
+        protected void starting(Description description) {
+            TestJournal.begin();
+        }
+
+        @Override
+        protected void failed(Throwable e, Description description) {
+            TestJournal journal = TestJournal.current();
+            List<String> events = journal == null ? Collections.emptyList() : journal.lines();
+            if (!events.isEmpty()) {
+                logger.info("Журнал упавшего теста:{}{}", System.lineSeparator(),
+                        String.join(System.lineSeparator(), events));
+            }
+            if (leasedDriver != null) {
+                logger.info("Тест упал, сохраняю состояние браузера");
+                ArtifactWriter.getInstance().submit(FailureSnapshot.capture(leasedDriver,
+                        BaseTest.this.getClass().getSimpleName(), testCaseName, e, events));
+            }
+        }
+
+        @Override
+        protected void finished(Description description) {
+            try {
+                releaseDriver();
+            } finally {
+                TestJournal.end();
+                if (workerName != null) {
+                    Thread.currentThread().setName(workerName);
+                }
+            }
+        }
+    };
 
     public BaseTest(String testCaseName) {
         logger = LoggerFactory.getLogger(getClass());
@@ -28,27 +89,117 @@ public abstract class BaseTest {
     @Before
     public void setUp() {
         try {
+            workerName = Thread.currentThread().getName();
+            Thread.currentThread().setName(testCaseName);
             logger.info("Начинается настройка теста");
-            WebDriverManager.chromedriver().setup();
-            driver = new ChromeDriver();
+            if (!usesBrowser()) {
+                logger.info("Тест проверяет данные общей сессии класса, свой браузер не нужен");
+                return;
+            }
+            leasedDriver = DriverPool.getInstance().lease();
+            commands = new CommandCounter();
+            driver = commands.decorate(leasedDriver);
             wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            driver.manage().window().maximize();
-            driver.get(AppConfig.URL);
-            mainPage = new MainPage(driver);
-            mainPage.acceptCookie();
-            mainPage.waitForCookieBannerDisappearance();
+            openEntryPoint();
         } catch (Exception e) {
             logger.error("Ошибка при настройке теста", e);
             throw e;
         }
     }
 
+    /**
+     * Открывает стартовую страницу из {@link EntryPoint}: с баннером для классов с {@link WithCookieBanner},
+     * иначе с уже принятыми куками. Заполняет mainPage или orderPage в зависимости от страницы.
+     * Время от начала перехода до готовности приложения записывается в метрику appReady.
+     */
+    private void openEntryPoint() {
+        BasePage page = openEntryPoint(driver, getClass(), logger);
+        if (page instanceof OrderPage) {
+            orderPage = (OrderPage) page;
+        } else {
+            mainPage = (MainPage) page;
+        }
+    }
+
+    /**
+     * Открывает стартовую страницу класса тестов в указанном браузере и ждёт готовности приложения
+     *
+     * @param driver    драйвер браузера
+     * @param testClass класс тестов с аннотациями {@link EntryPoint} и {@link WithCookieBanner}
+     * @param logger    логгер класса тестов
+     * @return готовая страница: {@link OrderPage} для формы заказа, иначе {@link MainPage}
+     */
+    static BasePage openEntryPoint(WebDriver driver, Class<?> testClass, Logger logger) {
+        EntryPoint entryPoint = testClass.getAnnotation(EntryPoint.class);
+        EntryPoint.Route route = entryPoint == null ? EntryPoint.Route.MAIN : entryPoint.value();
+        String url = AppConfig.URL + route.getPath();
+        TestJournal.record(logger, "Стартовая страница теста: {}", url);
+        boolean acceptCookie = false;
+        BasePage page;
+        try (ActionTimer timer = ActionMetrics.start("appReady", route)) {
+            if (testClass.isAnnotationPresent(WithCookieBanner.class)) {
+                driver.get(url);
+            } else if (AppConfig.CONSENT_INJECTION) {
+                CookieConsent.open(driver, url);
+            } else {
+                driver.get(url);
+                acceptCookie = true;
+            }
+            if (route == EntryPoint.Route.ORDER) {
+                page = new OrderPage(driver).waitUntilReady();
+            } else {
+                page = new MainPage(driver).waitUntilReady();
+            }
+            timer.success();
+        }
+        if (acceptCookie) {
+            page.acceptCookie();
+            page.waitForCookieBannerDisappearance();
+        }
+        return page;
+    }
+
+    /**
+     * Нужен ли тесту свой браузер. Тесты, которые проверяют данные общей сессии класса, его не арендуют
+     *
+     * @return true, если перед тестом нужно арендовать браузер и открыть стартовую страницу
+     */
+    protected boolean usesBrowser() {
+        return true;
+    }
+
     @After
-    public void tearDown() throws InterruptedException {
+    public void tearDown() {
         logger.info("Завершение теста");
-        if (driver != null) {
-            driver.quit();
+        checkCommandBudget();
+    }
+
+    /**
+     * Возвращает браузер теста в пул
+     */
+    private void releaseDriver() {
+        if (leasedDriver == null) {
+            return;
+        }
+        RequestFilter.Stats network = RequestFilter.collect(leasedDriver, getClass().getSimpleName());
+        if (network != null) {
+            logger.info("Запросы браузера: {}", network);
+        }
+        DriverPool.getInstance().release(leasedDriver);
+        leasedDriver = null;
+        driver = null;
+    }
+
+    /**
+     * Сверяет число команд браузеру с бюджетом из аннотации {@link CommandBudget}
+     */
+    private void checkCommandBudget() {
+        if (commands == null) {
+            return;
         }
-        Thread.sleep(500);
+        logger.info("Команд браузеру: {} {}, вне бюджета {}", commands.getTotal(), commands.getCounts(),
+                commands.getExcluded());
+        CommandBudget budget = getClass().getAnnotation(CommandBudget.class);
+        commands.checkBudget(getClass(), testCaseName, budget == null ? -1 : budget.value());
     }
 }
@@ -0,0 +1,54 @@
+package tests;
+
+import journal.TestJournal;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import pages.MainPage;
+import runner.CommandBudget;
+import runner.ParallelParameterized;
+import runner.WithCookieBanner;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@RunWith(ParallelParameterized.class)
+@CommandBudget(15)
+@WithCookieBanner
+public class CookieBannerTest extends BaseTest {
+
+    public CookieBannerTest(String testCaseName) {
+        super(testCaseName);
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> testData() {
+        return Arrays.asList(new Object[][]{
+                {"Баннер с куками скрывается после согласия и не появляется снова"}
+        });
+    }
+
+    @Test
+    public void testCookieBannerAcceptance() {
+        SoftAssertions softly = new SoftAssertions();
+
+        TestJournal.record(logger, "Проверяем, что баннер с куками показан");
+        softly.assertThat(mainPage.isCookieBannerDisplayed())
+                .as("Баннер с куками не показан")
+                .isTrue();
+
+        TestJournal.record(logger, "Принимаем куки");
+        mainPage.acceptCookie();
+        mainPage.waitForCookieBannerDisappearance();
+
+        TestJournal.record(logger, "Перезагружаем страницу и проверяем, что баннер не появился");
+        driver.navigate().refresh();
+        MainPage reloaded = new MainPage(driver).waitUntilReady();
+        softly.assertThat(reloaded.isCookieBannerDisplayed())
+                .as("Баннер с куками появился после согласия")
+                .isFalse();
+
+        softly.assertAll();
+    }
+}
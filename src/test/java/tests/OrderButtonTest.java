@@ -0,0 +1,53 @@
+package tests;
+
+import journal.TestJournal;
+import models.ButtonPositionType;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import pages.OrderPage;
+import runner.CommandBudget;
+import runner.ParallelParameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@RunWith(ParallelParameterized.class)
+@CommandBudget(13)
+public class OrderButtonTest extends BaseTest {
+    private final ButtonPositionType buttonPositionType;
+
+    public OrderButtonTest(String testCaseName, ButtonPositionType buttonPositionType) {
+        super(testCaseName);
+        this.buttonPositionType = buttonPositionType;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> testData() {
+        return Arrays.asList(new Object[][]{
+                {"Форма заказа открывается верхней кнопкой", ButtonPositionType.TOP},
+                {"Форма заказа открывается нижней кнопкой", ButtonPositionType.BOTTOM}
+        });
+    }
+
+    @Test
+    public void testOrderButtonOpensOrderForm() {
+        SoftAssertions softly = new SoftAssertions();
+
+        TestJournal.record(logger, "Проверяем наличие кнопки заказа");
+        softly.assertThat(mainPage.isOrderButtonPresent(buttonPositionType))
+                .as("Кнопка заказа не найдена")
+                .isTrue();
+
+        TestJournal.record(logger, "Кликаем на кнопку заказа");
+        OrderPage orderPage = mainPage.clickOrderButton(buttonPositionType);
+
+        TestJournal.record(logger, "Проверяем наличие формы заказа");
+        softly.assertThat(orderPage.isOrderFormPresent())
+                .as("Форма заказа не открылась")
+                .isTrue();
+
+        softly.assertAll();
+    }
+}
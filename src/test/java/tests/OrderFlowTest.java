@@ -1,33 +1,40 @@
 package tests;
 
+import data.TestOrders;
+import journal.TestJournal;
 import models.*;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
-
-import pages.OrderPage;
+import runner.CommandBudget;
+import runner.EntryPoint;
+import runner.ParallelParameterized;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collection;
 
-@RunWith(Parameterized.class)
+@RunWith(ParallelParameterized.class)
+@CommandBudget(40)
+@EntryPoint(EntryPoint.Route.ORDER)
 public class OrderFlowTest extends BaseTest {
     private final User user;
     private final Order order;
-    private final ButtonPositionType buttonPositionType;
 
-    public OrderFlowTest(String testCaseName, User user, Order order, ButtonPositionType buttonPositionType) {
+    public OrderFlowTest(String testCaseName, User user, Order order) {
         super(testCaseName);
         this.user = user;
         this.order = order;
-        this.buttonPositionType = buttonPositionType;
     }
 
+    /**
+     * Заказы, заданные в коде, или заказы из файла и генератора, если они заданы свойствами orders.*
+     */
     @Parameters(name = "{0}")
-    public static Collection<Object[]> testData() {
+    public static Iterable<Object[]> testData() {
+        if (TestOrders.isConfigured()) {
+            return TestOrders.parameters();
+        }
         User user1 = new User.Builder()
                 .setName("Иван")
                 .setSurname("Петров")
@@ -42,15 +49,15 @@ public class OrderFlowTest extends BaseTest {
                 .setName("Мария")
                 .setSurname("Иванова")
                 .setAddress("г. Санкт-Петербург, пр. Ветеранов, д. 5")
-                .setMetroStation("Проспект Ветеранов")
+                .setMetroStation("Проспект Вернадского")
                 .setPhone("+79007654321")
                 .build();
 
         Order order2 = new Order(user1, LocalDateTime.now().minusDays(2).withHour(15).withMinute(35), PeriodType.FIVE_DAYS, ScooterColorType.GREY, "Позвонить за 15 минут");
 
         return Arrays.asList(new Object[][]{
-                {"Успешный заказ через верхнюю кнопку", user1, order1, ButtonPositionType.TOP},
-                {"Успешный заказ через нижнюю кнопку", user2, order2, ButtonPositionType.BOTTOM}
+                {"Успешный заказ на сутки чёрного самоката", user1, order1},
+                {"Успешный заказ на пять суток серого самоката", user2, order2}
         });
     }
 
@@ -61,45 +68,37 @@ public class OrderFlowTest extends BaseTest {
         SoftAssertions softly = new SoftAssertions();
 
         try {
-            logger.debug("Проверяем наличие кнопки заказа");
-            softly.assertThat(mainPage.isOrderButtonPresent(buttonPositionType))
-                    .as("Кнопка заказа не найдена")
-                    .isTrue();
-
-            logger.debug("Кликаем на кнопку заказа");
-            OrderPage orderPage = mainPage.clickOrderButton(buttonPositionType);
-
-            logger.debug("Проверяем наличие формы заказа");
+            TestJournal.record(logger, "Проверяем наличие формы заказа");
             softly.assertThat(orderPage.isOrderFormPresent())
                     .as("Форма заказа не открылась")
                     .isTrue();
 
-            logger.debug("Заполняем форму личными данными");
+            TestJournal.record(logger, "Заполняем форму личными данными");
             orderPage.fillOrderForm(user);
 
-            logger.debug("Переходим к следующему шагу");
+            TestJournal.record(logger, "Переходим к следующему шагу");
             orderPage.clickNextButton();
 
-            logger.debug("Проверяем наличие формы второго шага");
+            TestJournal.record(logger, "Проверяем наличие формы второго шага");
             softly.assertThat(orderPage.isSecondStepFormPresent())
                     .as("Форма второго шага не загрузилась")
                     .isTrue();
 
-            logger.debug("Заполняем данные заказа");
+            TestJournal.record(logger, "Заполняем данные заказа");
             orderPage.fillOrderForm2(order);
 
-            logger.debug("Подтверждаем заказ");
+            TestJournal.record(logger, "Подтверждаем заказ");
             orderPage.clickOrderButton();
 
-            logger.debug("Проверяем появление модального окна");
+            TestJournal.record(logger, "Проверяем появление модального окна");
             softly.assertThat(orderPage.isModalFormPresent())
                     .as("Модальное окно подтверждения не появилось")
                     .isTrue();
 
-            logger.debug("Подтверждаем в модальном окне");
+            TestJournal.record(logger, "Подтверждаем в модальном окне");
             orderPage.clickYesButton();
 
-            logger.debug("Проверяем наличие сообщения об успешном заказе");
+            TestJournal.record(logger, "Проверяем наличие сообщения об успешном заказе");
             softly.assertThat(orderPage.isSuccessMessagePresent())
                     .as("Сообщение об успешном заказе не отобразилось")
                     .isTrue();
@@ -0,0 +1,130 @@
+package tests;
+
+import config.AppConfig;
+import journal.TestJournal;
+import models.Order;
+import models.PeriodType;
+import models.ScooterColorType;
+import models.User;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import org.openqa.selenium.JavascriptExecutor;
+import runner.CommandBudget;
+import runner.EntryPoint;
+import runner.ParallelParameterized;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Заполнение второго шага формы заказа: дата и комментарий записываются скриптом,
+ * а если приложение не приняло значение, вводятся с клавиатуры.
+ * Поля локальной копии управляемые, как в React, поэтому запись в обход нативного сеттера
+ * приложение откатывает, и первый случай падает
+ */
+@RunWith(ParallelParameterized.class)
+@CommandBudget(52)
+@EntryPoint(EntryPoint.Route.ORDER)
+public class OrderFormFillTest extends BaseTest {
+
+    /**
+     * Превращает поле в такое, что принимает только ввод с клавиатуры:
+     * значение, записанное без нажатия клавиши, стирается
+     */
+    private static final String REJECT_SCRIPTED_INPUT =
+            "arguments[0].forEach(function (selector) {" +
+            "  var input = document.querySelector(selector), typed = false;" +
+            "  input.addEventListener('keydown', function () { typed = true; });" +
+            "  input.addEventListener('input', function () {" +
+            "    if (!typed) { input.value = ''; }" +
+            "    typed = false;" +
+            "  });" +
+            "});";
+
+    /**
+     * Считает нажатия клавиш в полях: если приложение приняло значения из скрипта,
+     * откатываться на ввод с клавиатуры не нужно
+     */
+    private static final String COUNT_TYPED_KEYS =
+            "window.typedKeys = 0;" +
+            "arguments[0].forEach(function (selector) {" +
+            "  document.querySelector(selector).addEventListener('keydown', function () { window.typedKeys++; });" +
+            "});";
+
+    private static final List<String> SECOND_STEP_FIELDS = Arrays.asList(
+            "input[placeholder='* Когда привезти самокат']", "input[placeholder='Комментарий для курьера']");
+
+    private static final User USER = new User.Builder()
+            .setName("Иван")
+            .setSurname("Петров")
+            .setAddress("г. Москва, ул. Примерная, д. 1")
+            .setMetroStation("Щукинская")
+            .setPhone("+79001234567")
+            .build();
+
+    private final boolean rejectScriptedInput;
+
+    public OrderFormFillTest(String testCaseName, boolean rejectScriptedInput) {
+        super(testCaseName);
+        this.rejectScriptedInput = rejectScriptedInput;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> testData() {
+        return Arrays.asList(new Object[][]{
+                {"Дата и комментарий записываются скриптом", false},
+                {"Поля не принимают значения из скрипта, ввод с клавиатуры", true}
+        });
+    }
+
+    @Test
+    public void testSecondStepKeepsValues() {
+        Order order = new Order(USER, LocalDateTime.now().plusDays(3).withHour(12).withMinute(0),
+                PeriodType.ONE_DAY, ScooterColorType.BLACK, "Позвонить за 15 минут");
+        SoftAssertions softly = new SoftAssertions();
+
+        TestJournal.record(logger, "Переходим ко второму шагу формы");
+        orderPage.fillOrderForm(USER);
+        orderPage.clickNextButton();
+        softly.assertThat(orderPage.isSecondStepFormPresent())
+                .as("Форма второго шага не загрузилась")
+                .isTrue();
+
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        if (rejectScriptedInput) {
+            TestJournal.record(logger, "Запрещаем полям второго шага значения из скрипта");
+            executor.executeScript(REJECT_SCRIPTED_INPUT, SECOND_STEP_FIELDS);
+        } else {
+            executor.executeScript(COUNT_TYPED_KEYS, SECOND_STEP_FIELDS);
+        }
+
+        TestJournal.record(logger, "Заполняем второй шаг");
+        orderPage.fillOrderForm2(order);
+
+        if (AppConfig.FAST_FORM_FILL && !rejectScriptedInput) {
+            softly.assertThat((Long) executor.executeScript("return window.typedKeys;"))
+                    .as("Приложение не приняло значения из скрипта, поля заполнены с клавиатуры")
+                    .isZero();
+        }
+
+        TestJournal.record(logger, "Проверяем, что значения сохранились после выбора срока аренды");
+        softly.assertThat(orderPage.getDeliveryDate())
+                .as("Дата доставки не сохранилась")
+                .isEqualTo(order.getOrderDateAsString());
+        softly.assertThat(orderPage.getComment())
+                .as("Комментарий не сохранился")
+                .isEqualTo(order.getComment());
+
+        TestJournal.record(logger, "Проверяем, что приложение приняло заказ");
+        orderPage.clickOrderButton();
+        softly.assertThat(orderPage.isModalFormPresent())
+                .as("Модальное окно подтверждения не появилось")
+                .isTrue();
+
+        softly.assertAll();
+    }
+}
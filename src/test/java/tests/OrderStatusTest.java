@@ -0,0 +1,76 @@
+package tests;
+
+import api.OrderApiClient;
+import config.AppConfig;
+import data.OrderGenerator;
+import journal.TestJournal;
+import models.Order;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameters;
+import pages.TrackPage;
+import runner.CommandBudget;
+import runner.ParallelParameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(ParallelParameterized.class)
+@CommandBudget(22)
+public class OrderStatusTest extends BaseTest {
+    private final Order order;
+
+    public OrderStatusTest(String testCaseName, Order order) {
+        super(testCaseName);
+        this.order = order;
+    }
+
+    /**
+     * Заказ для проверки статуса создаётся через API, без заполнения формы.
+     * Создавать заказы можно только в локальной копии приложения: на общем стенде их некому удалять,
+     * поэтому там этой строки нет и браузер для неё не арендуется.
+     * Для строки без заказа ищется трек-номер, которого нет в приложении.
+     */
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> testData() {
+        List<Object[]> rows = new ArrayList<>();
+        if (AppConfig.LOCAL_MODE) {
+            rows.add(new Object[]{"Статус заказа, созданного через API", new OrderGenerator(AppConfig.ORDERS_SEED).next()});
+        }
+        rows.add(new Object[]{"Статус несуществующего заказа", null});
+        return rows;
+    }
+
+    @Test
+    public void testOrderStatus() {
+        SoftAssertions softly = new SoftAssertions();
+
+        int track = 0;
+        if (order != null) {
+            TestJournal.record(logger, "Создаём заказ через API");
+            track = OrderApiClient.forApp().createOrder(order);
+            TestJournal.record(logger, "Создан заказ с трек-номером {}", track);
+        }
+
+        TestJournal.record(logger, "Ищем заказ по трек-номеру в шапке страницы");
+        TrackPage trackPage = mainPage.searchOrder(track);
+
+        softly.assertThat(trackPage.isOrderFound())
+                .as("Результат поиска заказа " + track)
+                .isEqualTo(order != null);
+
+        if (order != null) {
+            TestJournal.record(logger, "Проверяем данные заказа");
+            Map<String, String> info = trackPage.getOrderInfo();
+            softly.assertThat(info.get("Имя")).as("Имя").isEqualTo(order.getUser().getName());
+            softly.assertThat(info.get("Фамилия")).as("Фамилия").isEqualTo(order.getUser().getSurname());
+            softly.assertThat(info.get("Адрес")).as("Адрес").isEqualTo(order.getUser().getAddress());
+            softly.assertThat(info.get("Телефон")).as("Телефон").isEqualTo(order.getUser().getPhone());
+        }
+
+        softly.assertAll();
+    }
+}
@@ -1,10 +1,14 @@
 package tests;
 
+import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
-import org.openqa.selenium.WebElement;
+import pages.AccordionItem;
+import pages.ElementSnapshot;
+import pages.MainPage;
+import runner.CommandBudget;
+import runner.ParallelParameterized;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -12,9 +16,16 @@ import java.util.List;
 
 import org.assertj.core.api.SoftAssertions;
 
-@RunWith(Parameterized.class)
+@RunWith(ParallelParameterized.class)
+@CommandBudget(value = 22, shared = 12)
 public class QuestionAnswerTest extends BaseTest {
 
+    /**
+     * Все вопросы раскрываются и читаются один раз на класс, строки проверяют прочитанные пары
+     */
+    @ClassRule
+    public static final SharedSession<List<AccordionItem>> accordion = new SharedSession<>(MainPage::expandAllQuestions);
+
     public QuestionAnswerTest(String testCaseName, String expectedQuestion, String expectedAnswer) {
         super(testCaseName);
         this.expectedQuestion = expectedQuestion;
@@ -61,27 +72,68 @@ public class QuestionAnswerTest extends BaseTest {
         });
     }
 
+    @Override
+    protected boolean usesBrowser() {
+        return !accordion.isActive();
+    }
+
     @Test
     public void testQuestionAnswerText() {
+        if (accordion.isActive()) {
+            checkSharedAccordion();
+            return;
+        }
         SoftAssertions softly = new SoftAssertions();
 
         logger.info("Проверка отображения всех вопросов");
-        List<WebElement> allQuestions = mainPage.getAllQuestions();
+        List<ElementSnapshot> allQuestions = mainPage.getAllQuestions();
         softly.assertThat(allQuestions.size()).as("Проверка количества вопросов").isGreaterThan(0);
 
         logger.info("Проверка текста вопроса");
-        WebElement question = mainPage.getQuestion(expectedQuestion);
-        softly.assertThat(question.isDisplayed()).as("Проверка отображения вопроса").isTrue();
-        softly.assertThat(question.getText()).as("Проверка текста вопроса").isEqualTo(expectedQuestion);
+        ElementSnapshot question = mainPage.getQuestion(expectedQuestion);
+        checkQuestion(softly, question);
 
         logger.info("Открываю вопрос");
         mainPage.openQuestion(question);
 
         logger.info("Проверка отображения ответа");
-        WebElement answer = mainPage.getAnswer(expectedAnswer);
-        softly.assertThat(answer.isDisplayed()).as("Проверка отображения ответа").isTrue();
-        softly.assertThat(answer.getText()).as("Проверка текста ответа").isEqualTo(expectedAnswer);
+        checkAnswer(softly, mainPage.getAnswer(expectedAnswer));
+
+        softly.assertAll();
+    }
+
+    /**
+     * Проверяет пару вопрос-ответ по данным, прочитанным общей сессией класса
+     */
+    private void checkSharedAccordion() {
+        SoftAssertions softly = new SoftAssertions();
+        List<AccordionItem> items = accordion.get();
+        softly.assertThat(items.size()).as("Проверка количества вопросов").isGreaterThan(0);
+
+        logger.info("Проверка текста вопроса и ответа из общей сессии");
+        AccordionItem item = items.stream()
+                .filter(candidate -> candidate.getQuestion().getText().contains(expectedQuestion))
+                .findFirst()
+                .orElse(null);
+        softly.assertThat(item).as("Проверка наличия вопроса").isNotNull();
+        if (item != null) {
+            checkQuestion(softly, item.getQuestion());
+            checkAnswer(softly, item.getAnswer());
+        }
 
         softly.assertAll();
     }
+
+    private void checkQuestion(SoftAssertions softly, ElementSnapshot question) {
+        softly.assertThat(question.isDisplayed()).as("Проверка отображения вопроса").isTrue();
+        softly.assertThat(question.getText()).as("Проверка текста вопроса").isEqualTo(expectedQuestion);
+    }
+
+    private void checkAnswer(SoftAssertions softly, ElementSnapshot answer) {
+        softly.assertThat(answer).as("Проверка наличия ответа").isNotNull();
+        if (answer != null) {
+            softly.assertThat(answer.isDisplayed()).as("Проверка отображения ответа").isTrue();
+            softly.assertThat(answer.getText()).as("Проверка текста ответа").isEqualTo(expectedAnswer);
+        }
+    }
 }
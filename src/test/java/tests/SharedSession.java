@@ -0,0 +1,96 @@
+package tests;
+
+import config.AppConfig;
+import driver.CommandCounter;
+import driver.DriverPool;
+import driver.RequestFilter;
+import org.junit.rules.ExternalResource;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.MainPage;
+import runner.CommandBudget;
+
+import java.util.function.Function;
+
+/**
+ * Общая сессия браузера для всех строк параметризованного класса тестов.
+ * Подключается как @ClassRule: до первой строки арендует один браузер, открывает главную страницу,
+ * один раз читает с неё данные и сразу возвращает браузер в пул.
+ * Строки проверяют уже прочитанные данные и своих браузеров не открывают.
+ * С -Dshared.session=off сессия не создаётся, и строки работают как обычные тесты.
+ *
+ * @param <T> тип данных, прочитанных со страницы
+ */
+final class SharedSession<T> extends ExternalResource {
+    private static final Logger log = LoggerFactory.getLogger(SharedSession.class);
+
+    private final Function<MainPage, T> loader;
+    private Class<?> testClass;
+    private volatile T value;
+
+    /**
+     * Конструктор сессии
+     *
+     * @param loader чтение данных с открытой и готовой главной страницы
+     */
+    SharedSession(Function<MainPage, T> loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        testClass = description.getTestClass();
+        return super.apply(base, description);
+    }
+
+    @Override
+    protected void before() {
+        if (!AppConfig.SHARED_SESSIONS) {
+            return;
+        }
+        WebDriver leased = DriverPool.getInstance().lease();
+        try {
+            CommandCounter commands = new CommandCounter();
+            WebDriver driver = commands.decorate(leased);
+            MainPage page = (MainPage) BaseTest.openEntryPoint(driver, testClass, log);
+            long started = System.nanoTime();
+            value = loader.apply(page);
+            log.info("Общая сессия {}: данные прочитаны за {} мс, команд браузеру {} {}, вне бюджета {}",
+                    testClass.getSimpleName(), (System.nanoTime() - started) / 1_000_000,
+                    commands.getTotal(), commands.getCounts(), commands.getExcluded());
+            CommandBudget budget = testClass.getAnnotation(CommandBudget.class);
+            commands.checkBudget(testClass, null, budget == null ? -1 : budget.shared());
+            RequestFilter.Stats network = RequestFilter.collect(leased, testClass.getSimpleName() + " (общая сессия)");
+            if (network != null) {
+                log.info("Запросы браузера: {}", network);
+            }
+        } finally {
+            DriverPool.getInstance().release(leased);
+        }
+    }
+
+    /**
+     * Проверяет, прочитаны ли данные общей сессией
+     *
+     * @return true, если строки должны проверять данные сессии вместо своего браузера
+     */
+    boolean isActive() {
+        return value != null;
+    }
+
+    /**
+     * Возвращает данные, прочитанные со страницы
+     *
+     * @return данные сессии
+     * @throws IllegalStateException если сессия выключена
+     */
+    T get() {
+        if (value == null) {
+            throw new IllegalStateException("Общая сессия выключена, данные не прочитаны");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,532 @@
+(function () {
+    'use strict';
+
+    var QUESTIONS = [
+        ['Сколько это стоит? И как оплатить?',
+            'Сутки — 400 рублей. Оплата курьеру — наличными или картой.'],
+        ['Хочу сразу несколько самокатов! Так можно?',
+            'Пока что у нас так: один заказ — один самокат. Если хотите покататься с друзьями, можете просто сделать несколько заказов — один за другим.'],
+        ['Как рассчитывается время аренды?',
+            'Допустим, вы оформляете заказ на 8 мая. Мы привозим самокат 8 мая в течение дня. Отсчёт времени аренды начинается с момента, когда вы оплатите заказ курьеру. Если мы привезли самокат 8 мая в 20:30, суточная аренда закончится 9 мая в 20:30.'],
+        ['Можно ли заказать самокат прямо на сегодня?',
+            'Только начиная с завтрашнего дня. Но скоро станем расторопнее.'],
+        ['Можно ли продлить заказ или вернуть самокат раньше?',
+            'Пока что нет! Но если что-то срочное — всегда можно позвонить в поддержку по красивому номеру 1010.'],
+        ['Вы привозите зарядку вместе с самокатом?',
+            'Самокат приезжает к вам с полной зарядкой. Этого хватает на восемь суток — даже если будете кататься без передышек и во сне. Зарядка не понадобится.'],
+        ['Можно ли отменить заказ?',
+            'Да, пока самокат не привезли. Штрафа не будет, объяснительной записки тоже не попросим. Все же свои.'],
+        ['Я жизу за МКАДом, привезёте?',
+            'Да, обязательно. Всем самокатов! И Москве, и Московской области.']
+    ];
+
+    var PERIODS = ['сутки', 'двое суток', 'трое суток', 'четверо суток', 'пятеро суток', 'шестеро суток', 'семеро суток'];
+
+    var CONSENT_COOKIE = 'Cartoshka';
+
+    var root = document.getElementById('root');
+
+    var stations = [];
+
+    function el(html) {
+        var template = document.createElement('template');
+        template.innerHTML = html.trim();
+        return template.content.firstChild;
+    }
+
+    function escapeHtml(value) {
+        return String(value)
+            .replace(/&/g, '&amp;')
+            .replace(/</g, '&lt;')
+            .replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;');
+    }
+
+    function api(method, url, body, callback) {
+        var request = new XMLHttpRequest();
+        request.open(method, url);
+        request.setRequestHeader('Content-Type', 'application/json');
+        request.onload = function () {
+            callback(request.status, request.responseText ? JSON.parse(request.responseText) : null);
+        };
+        request.send(body ? JSON.stringify(body) : null);
+    }
+
+    function toggleClass(node, className, enabled) {
+        if (enabled) {
+            node.classList.add(className);
+        } else {
+            node.classList.remove(className);
+        }
+    }
+
+    /**
+     * Имя клавиши из события. Как и React, при нестандартном event.key опирается на keyCode
+     */
+    function keyName(event) {
+        switch (event.keyCode) {
+            case 13: return 'Enter';
+            case 38: return 'ArrowUp';
+            case 40: return 'ArrowDown';
+        }
+        return event.key;
+    }
+
+    function hasConsent() {
+        return document.cookie.split('; ').indexOf(CONSENT_COOKIE + '=true') >= 0;
+    }
+
+    function navigate(path) {
+        window.history.pushState({}, '', path);
+        render();
+        window.scrollTo(0, 0);
+    }
+
+    function render() {
+        var app = el('<div class="App_App__15LM-"></div>');
+        app.appendChild(header());
+        if (window.location.pathname === '/order') {
+            app.appendChild(orderPage());
+        } else if (window.location.pathname === '/track') {
+            app.appendChild(trackPage());
+        } else {
+            app.appendChild(homePage());
+        }
+        if (!hasConsent()) {
+            app.appendChild(cookieConsent());
+        }
+        root.innerHTML = '';
+        root.appendChild(app);
+    }
+
+    function header() {
+        var node = el(
+            '<div class="Header_Header__214zg">' +
+            '<div class="Header_Logo__23yGT"><a class="Header_LogoYandex__3TSOI" href="/">Яндекс</a>' +
+            '<a class="Header_LogoScooter__3lsAR" href="/">Самокат</a></div>' +
+            '<div class="Header_Nav__AGCXC">' +
+            '<button class="Button_Button__ra12g">Заказать</button>' +
+            '<button class="Header_Link__1TAG7">Статус заказа</button>' +
+            '<div class="Header_SearchInput__3YRIQ" hidden>' +
+            '<input class="Input_Input__1iN_Z Header_Input__xIoUq" placeholder="Введите номер заказа" value="">' +
+            '<button class="Button_Button__ra12g Header_Button__28dPO">Go!</button></div>' +
+            '</div></div>');
+        var buttons = node.querySelectorAll('.Header_Nav__AGCXC > button');
+        var search = node.querySelector('.Header_SearchInput__3YRIQ');
+        buttons[0].addEventListener('click', function () {
+            navigate('/order');
+        });
+        buttons[1].addEventListener('click', function () {
+            search.hidden = !search.hidden;
+        });
+        search.querySelector('button').addEventListener('click', function () {
+            navigate('/track?t=' + encodeURIComponent(search.querySelector('input').value));
+        });
+        return node;
+    }
+
+    function cookieConsent() {
+        var node = el(
+            '<div class="App_CookieConsent__1yUIN">' +
+            '<div class="App_CookieText__1sbqp">И здесь куки! В общем, мы их используем.</div>' +
+            '<button class="App_CookieButton__3cvqF">да все привыкли</button></div>');
+        node.querySelector('button').addEventListener('click', function () {
+            document.cookie = CONSENT_COOKIE + '=true; path=/; max-age=31536000';
+            document.cookie = CONSENT_COOKIE + '-legacy=true; path=/; max-age=31536000';
+            node.parentNode.removeChild(node);
+        });
+        return node;
+    }
+
+    function homePage() {
+        var items = QUESTIONS.map(function (pair, index) {
+            return '<div class="accordion__item" data-accordion-component="AccordionItem">' +
+                '<div class="accordion__heading" role="heading" aria-level="3" data-accordion-component="AccordionItemHeading">' +
+                '<div class="accordion__button" id="accordion__heading-' + index + '" role="button" tabindex="0"' +
+                ' aria-disabled="false" aria-expanded="false" aria-controls="accordion__panel-' + index + '"' +
+                ' data-accordion-component="AccordionItemButton">' + escapeHtml(pair[0]) + '</div></div>' +
+                '<div class="accordion__panel" id="accordion__panel-' + index + '" role="region"' +
+                ' aria-labelledby="accordion__heading-' + index + '" data-accordion-component="AccordionItemPanel" hidden>' +
+                '<p>' + escapeHtml(pair[1]) + '</p></div></div>';
+        }).join('');
+        var node = el(
+            '<div class="Home_HomePage__ZXKIX">' +
+            '<div class="Home_FirstPart__3g6vG"><div class="Home_Header__iJKdX">Самокат<br>на пару дней</div>' +
+            '<div class="Home_SubHeader__zwi_E">Привезём его прямо к вашей двери, а когда накатаетесь — заберём</div></div>' +
+            '<div class="Home_SecondPart__3uR9L"><div class="Home_SubHeader__zwi_E">Как это работает</div></div>' +
+            '<div class="Home_ThirdPart__LSTEE"><div class="Home_SubHeader__zwi_E">Самокат на пару дней</div></div>' +
+            '<div class="Home_FourPart__1uthg"><div class="Home_SubHeader__zwi_E">Вопросы о важном</div>' +
+            '<div class="accordion" data-accordion-component="Accordion">' + items + '</div></div>' +
+            '<div class="Home_FinishButton__1_cWm">' +
+            '<button class="Button_Button__ra12g Button_UltraBig__UU3Lp">Заказать</button></div>' +
+            '</div>');
+        var buttons = node.querySelectorAll('[data-accordion-component="AccordionItemButton"]');
+        Array.prototype.forEach.call(buttons, function (button) {
+            button.addEventListener('click', function () {
+                Array.prototype.forEach.call(buttons, function (other) {
+                    var expanded = other === button;
+                    other.setAttribute('aria-expanded', String(expanded));
+                    document.getElementById(other.getAttribute('aria-controls')).hidden = !expanded;
+                });
+            });
+        });
+        node.querySelector('.Home_FinishButton__1_cWm button').addEventListener('click', function () {
+            navigate('/order');
+        });
+        return node;
+    }
+
+    function textInput(name, placeholder) {
+        return '<div class="Input_InputContainer__3NykH">' +
+            '<input class="Input_Input__1iN_Z Input_Responsible__1jDKN" name="' + name + '" placeholder="' +
+            escapeHtml(placeholder) + '" value="">' +
+            '<div class="Input_ErrorMessage__3HvIb" hidden>Введите корректное значение</div></div>';
+    }
+
+    /**
+     * Управляемое поле, как в React: значение живёт в состоянии, а не в DOM.
+     * Трекер запоминает всё, что записано через свойство value самого поля,
+     * поэтому событие после такой записи не меняет состояние, и поле откатывается к нему.
+     * Состояние меняют только ввод с клавиатуры и запись через нативный сеттер прототипа.
+     * Обработчик висит на контейнере, поэтому, как и у React, срабатывает после обработчиков самого поля
+     */
+    function controlledInput(node, input, onChange) {
+        var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(input), 'value');
+        var tracked = descriptor.get.call(input);
+        var current = tracked;
+        Object.defineProperty(input, 'value', {
+            configurable: true,
+            get: function () {
+                return descriptor.get.call(this);
+            },
+            set: function (value) {
+                tracked = String(value);
+                descriptor.set.call(this, value);
+            }
+        });
+
+        function handle(event) {
+            if (event.target !== input) {
+                return;
+            }
+            var value = descriptor.get.call(input);
+            if (value !== tracked) {
+                tracked = value;
+                current = value;
+                onChange(value);
+            }
+            if (descriptor.get.call(input) !== current) {
+                descriptor.set.call(input, current);
+                tracked = current;
+            }
+        }
+
+        node.addEventListener('input', handle);
+        node.addEventListener('change', handle);
+    }
+
+    function bindTextInputs(node, state) {
+        Array.prototype.forEach.call(node.querySelectorAll('input[name]:not(.select-search__input)'), function (input) {
+            controlledInput(node, input, function (value) {
+                state[input.name] = value;
+            });
+        });
+    }
+
+    function showErrors(node, state, fields) {
+        var valid = true;
+        fields.forEach(function (field) {
+            var input = node.querySelector('input[name="' + field + '"]');
+            var empty = !state[field] || !String(state[field]).trim();
+            toggleClass(input, 'Input_Error__1Tx0d', empty);
+            input.closest('.Input_InputContainer__3NykH').querySelector('.Input_ErrorMessage__3HvIb').hidden = !empty;
+            valid = valid && !empty;
+        });
+        return valid;
+    }
+
+    function orderPage() {
+        var state = {color: []};
+        var node = el('<div class="Order_Content__bmtHS"></div>');
+        renderFirstStep(node, state);
+        return node;
+    }
+
+    function renderFirstStep(node, state) {
+        node.innerHTML =
+            '<div class="Order_Header__BZXOb">Для кого самокат</div>' +
+            '<div class="Order_Form__17u6u">' +
+            textInput('firstName', '* Имя') +
+            textInput('lastName', '* Фамилия') +
+            textInput('address', '* Адрес: куда привезти заказ') +
+            '<div class="Input_InputContainer__3NykH"><div class="select-search">' +
+            '<div class="select-search__value"><input class="select-search__input" name="metroStation"' +
+            ' placeholder="* Станция метро" autocomplete="off" value=""></div>' +
+            '<div class="select-search__select" hidden><ul class="select-search__options"></ul></div></div>' +
+            '<div class="Input_ErrorMessage__3HvIb" hidden>Выберите станцию</div></div>' +
+            textInput('phone', '* Телефон: на него позвонит курьер') +
+            '</div>' +
+            '<div class="Order_NextButton__1_rCA"><button class="Button_Button__ra12g Button_Middle__1CSJM">Далее</button></div>';
+        bindTextInputs(node, state);
+        bindMetroSelect(node, state);
+        node.querySelector('.Order_NextButton__1_rCA button').addEventListener('click', function () {
+            if (showErrors(node, state, ['firstName', 'lastName', 'address', 'metroStation', 'phone'])) {
+                renderSecondStep(node, state);
+            }
+        });
+    }
+
+    function bindMetroSelect(node, state) {
+        var input = node.querySelector('.select-search__input');
+        var select = node.querySelector('.select-search__select');
+        var list = node.querySelector('.select-search__options');
+        var options = [];
+        var highlighted = -1;
+        var lastQuery = input.value;
+
+        function choose(station) {
+            input.value = station.name;
+            lastQuery = station.name;
+            state.metroStation = station.number;
+            select.hidden = true;
+        }
+
+        function highlight(index) {
+            highlighted = index;
+            Array.prototype.forEach.call(list.children, function (row, rowIndex) {
+                toggleClass(row.firstChild, 'is-highlighted', rowIndex === index);
+            });
+        }
+
+        input.addEventListener('input', function () {
+            // Браузер может прислать input и для клавиш, не меняющих текст, выбор при этом не сбрасывается
+            if (input.value === lastQuery) {
+                return;
+            }
+            lastQuery = input.value;
+            var query = input.value.trim().toLowerCase();
+            state.metroStation = null;
+            options = stations.filter(function (station) {
+                return station.name.toLowerCase().indexOf(query) >= 0;
+            });
+            list.innerHTML = options.map(function (station, index) {
+                return '<li class="select-search__row" data-index="' + index + '">' +
+                    '<button class="Order_SelectOption__82bhS select-search__option" type="button" tabindex="-1">' +
+                    '<div class="Order_Text__2broi">' + escapeHtml(station.name) + '</div></button></li>';
+            }).join('');
+            Array.prototype.forEach.call(list.children, function (row) {
+                row.addEventListener('mousedown', function (event) {
+                    event.preventDefault();
+                    choose(options[Number(row.getAttribute('data-index'))]);
+                });
+            });
+            highlighted = -1;
+            select.hidden = options.length === 0;
+        });
+        input.addEventListener('keydown', function (event) {
+            var key = keyName(event);
+            if (key === 'ArrowDown' && options.length > 0) {
+                event.preventDefault();
+                highlight(Math.min(highlighted + 1, options.length - 1));
+            } else if (key === 'ArrowUp' && options.length > 0) {
+                event.preventDefault();
+                highlight(Math.max(highlighted - 1, 0));
+            } else if (key === 'Enter' && highlighted >= 0) {
+                event.preventDefault();
+                choose(options[highlighted]);
+            }
+        });
+        input.addEventListener('blur', function () {
+            select.hidden = true;
+        });
+    }
+
+    function parseDate(value) {
+        var match = /^(\d{2})\.(\d{2})\.(\d{4})$/.exec(value.trim());
+        return match ? match[3] + '-' + match[2] + '-' + match[1] : null;
+    }
+
+    function renderSecondStep(node, state) {
+        node.innerHTML =
+            '<div class="Order_Header__BZXOb">Про аренду</div>' +
+            '<div class="Order_Form__17u6u">' +
+            '<div class="react-datepicker-wrapper"><div class="react-datepicker__input-container">' +
+            '<input class="Input_Input__1iN_Z Input_Responsible__1jDKN" placeholder="* Когда привезти самокат" value="">' +
+            '</div></div>' +
+            '<div class="react-datepicker" hidden><div class="react-datepicker__month">Выберите дату</div></div>' +
+            '<div class="Dropdown-root"><div class="Dropdown-control" aria-haspopup="listbox">' +
+            '<div class="Dropdown-placeholder">* Срок аренды</div>' +
+            '<div class="Dropdown-arrow-wrapper"><span class="Dropdown-arrow"></span></div></div></div>' +
+            '<div class="Order_Checkboxes__3lWSI"><div class="Order_Title__3EKne">Цвет самоката</div>' +
+            '<label class="Checkbox_Label__3wxSf" for="black"><input id="black" class="Checkbox_Input__14A2w" type="checkbox">чёрный жемчуг</label>' +
+            '<label class="Checkbox_Label__3wxSf" for="grey"><input id="grey" class="Checkbox_Input__14A2w" type="checkbox">серая безысходность</label></div>' +
+            '<div class="Input_InputContainer__3NykH">' +
+            '<input class="Input_Input__1iN_Z Input_Responsible__1jDKN" name="comment" placeholder="Комментарий для курьера" value=""></div>' +
+            '</div>' +
+            '<div class="Order_Buttons__1xGrp">' +
+            '<button class="Button_Button__ra12g Button_Middle__1CSJM Button_Inverted__3IF-i">Назад</button>' +
+            '<button class="Button_Button__ra12g Button_Middle__1CSJM">Заказать</button></div>';
+        bindTextInputs(node, state);
+        bindDatePicker(node, state);
+        bindDropdown(node, state);
+        ['black', 'grey'].forEach(function (color) {
+            node.querySelector('#' + color).addEventListener('change', function (event) {
+                state.color = state.color.filter(function (value) {
+                    return value !== color.toUpperCase();
+                });
+                if (event.target.checked) {
+                    state.color.push(color.toUpperCase());
+                }
+            });
+        });
+        var buttons = node.querySelectorAll('.Order_Buttons__1xGrp button');
+        buttons[0].addEventListener('click', function () {
+            renderFirstStep(node, {color: []});
+        });
+        buttons[1].addEventListener('click', function () {
+            var dateValid = !!state.deliveryDate;
+            var periodValid = !!state.rentTime;
+            toggleClass(node.querySelector('.react-datepicker-wrapper input'), 'Input_Error__1Tx0d', !dateValid);
+            toggleClass(node.querySelector('.Dropdown-control'), 'Input_Error__1Tx0d', !periodValid);
+            if (dateValid && periodValid) {
+                showConfirmation(node, state);
+            }
+        });
+    }
+
+    function bindDatePicker(node, state) {
+        var input = node.querySelector('.react-datepicker-wrapper input');
+        var calendar = node.querySelector('.react-datepicker');
+
+        function commit() {
+            var parsed = parseDate(input.value);
+            if (parsed) {
+                state.deliveryDate = parsed;
+            }
+            calendar.hidden = true;
+        }
+
+        input.addEventListener('focus', function () {
+            calendar.hidden = false;
+        });
+        controlledInput(node, input, function (value) {
+            state.deliveryDate = parseDate(value);
+        });
+        input.addEventListener('keydown', function (event) {
+            if (keyName(event) === 'Enter') {
+                event.preventDefault();
+                commit();
+            }
+        });
+        input.addEventListener('blur', commit);
+    }
+
+    function bindDropdown(node, state) {
+        var rootNode = node.querySelector('.Dropdown-root');
+        var control = node.querySelector('.Dropdown-control');
+        var placeholder = node.querySelector('.Dropdown-placeholder');
+
+        control.addEventListener('mousedown', function (event) {
+            event.preventDefault();
+            var opened = rootNode.querySelector('.Dropdown-menu');
+            if (opened) {
+                rootNode.removeChild(opened);
+                rootNode.classList.remove('is-open');
+                return;
+            }
+            var menu = el('<div class="Dropdown-menu" aria-expanded="true">' + PERIODS.map(function (period) {
+                return '<div class="Dropdown-option" role="option" aria-selected="false">' + period + '</div>';
+            }).join('') + '</div>');
+            Array.prototype.forEach.call(menu.children, function (option, index) {
+                option.addEventListener('mousedown', function (optionEvent) {
+                    optionEvent.preventDefault();
+                    state.rentTime = index + 1;
+                    placeholder.textContent = PERIODS[index];
+                    placeholder.className = 'Dropdown-placeholder is-selected';
+                    rootNode.removeChild(menu);
+                    rootNode.classList.remove('is-open');
+                });
+            });
+            rootNode.appendChild(menu);
+            rootNode.classList.add('is-open');
+        });
+    }
+
+    function showConfirmation(node, state) {
+        var overlay = el('<div class="Order_Overlay__3KW-T"></div>');
+        var modal = el(
+            '<div class="Order_Modal__YZ-d3">' +
+            '<div class="Order_ModalHeader__3FDaJ">Хотите оформить заказ?<div class="Order_Text__2broi"> </div></div>' +
+            '<div class="Order_Buttons__1xGrp">' +
+            '<button class="Button_Button__ra12g Button_Middle__1CSJM Button_Inverted__3IF-i">Нет</button>' +
+            '<button class="Button_Button__ra12g Button_Middle__1CSJM">Да</button></div></div>');
+        var buttons = modal.querySelectorAll('button');
+        buttons[0].addEventListener('click', function () {
+            node.removeChild(overlay);
+            node.removeChild(modal);
+        });
+        buttons[1].addEventListener('click', function () {
+            api('POST', '/api/v1/orders', {
+                firstName: state.firstName,
+                lastName: state.lastName,
+                address: state.address,
+                metroStation: state.metroStation,
+                phone: state.phone,
+                rentTime: state.rentTime,
+                deliveryDate: state.deliveryDate,
+                comment: state.comment || '',
+                color: state.color
+            }, function (status, created) {
+                showSuccess(modal, created.track);
+            });
+        });
+        node.appendChild(overlay);
+        node.appendChild(modal);
+    }
+
+    function showSuccess(modal, track) {
+        modal.innerHTML =
+            '<div class="Order_ModalHeader__3FDaJ">Заказ оформлен' +
+            '<div class="Order_Text__2broi">Номер заказа: ' + track + '.  Запишите его:<br> пригодится, чтобы отслеживать статус</div></div>' +
+            '<div class="Order_NextButton__1_rCA"><button class="Button_Button__ra12g Button_Middle__1CSJM">Посмотреть статус</button></div>';
+        modal.querySelector('button').addEventListener('click', function () {
+            navigate('/track?t=' + track);
+        });
+    }
+
+    function trackPage() {
+        var track = new URLSearchParams(window.location.search).get('t') || '';
+        var node = el('<div class="Track_Content__St6Kd"><div class="Track_Header__2vJvh">Статус заказа</div></div>');
+        api('GET', '/api/v1/orders/track?t=' + encodeURIComponent(track), null, function (status, found) {
+            if (status !== 200) {
+                node.appendChild(el(
+                    '<div class="Track_NotFound__6oaoY"><div class="Track_Text__1Gtc6">Такого заказа нет</div></div>'));
+                return;
+            }
+            var order = found.order;
+            var rows = [
+                ['Имя', order.firstName],
+                ['Фамилия', order.lastName],
+                ['Адрес', order.address],
+                ['Станция метро', order.metroStation],
+                ['Телефон', order.phone],
+                ['Дата доставки', order.deliveryDate],
+                ['Срок аренды', PERIODS[order.rentTime - 1] || ''],
+                ['Цвет', (order.color || []).join(', ')],
+                ['Комментарий', order.comment || '']
+            ];
+            node.appendChild(el('<div class="Track_OrderInfo__2fpDL" data-track="' + order.track + '">' +
+                rows.map(function (row) {
+                    return '<div class="Track_Row__1sN1F"><div class="Track_Title__1XfhB">' + row[0] + '</div>' +
+                        '<div class="Track_Value__15eEX">' + escapeHtml(row[1]) + '</div></div>';
+                }).join('') + '</div>'));
+        });
+        return node;
+    }
+
+    window.addEventListener('popstate', render);
+    api('GET', '/api/v1/stations/search?s=', null, function (status, found) {
+        stations = found;
+    });
+    render();
+})();